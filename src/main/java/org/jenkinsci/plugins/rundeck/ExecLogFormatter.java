@@ -0,0 +1,153 @@
+package org.jenkinsci.plugins.rundeck;
+
+import org.rundeck.client.api.model.ExecLog;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prints Rundeck log entries to a stream without building a string per line: each line is formatted into a reused
+ * buffer, encoded into a reused byte array and written directly to the stream.
+ * <p>
+ * The format is parsed once and may contain the <code>{node}</code>, <code>{time}</code>, <code>{level}</code> and
+ * <code>{log}</code> placeholders, e.g. <code>[{level}] {log}</code> to omit node and time.
+ * <p>
+ * Instances are not thread-safe, use one formatter per stream.
+ */
+public class ExecLogFormatter {
+
+    public static final String DEFAULT_FORMAT = "[{node}] [{time}] [{level}] {log}";
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private static final String[] PLACEHOLDERS = {"{node}", "{time}", "{level}", "{log}"};
+
+    private final PrintStream out;
+
+    private final CharsetEncoder encoder;
+
+    /** Literal text (String) or placeholder index (Integer), in order */
+    private final Object[] segments;
+
+    private final StringBuilder line = new StringBuilder(INITIAL_BUFFER_SIZE);
+
+    private char[] chars = new char[INITIAL_BUFFER_SIZE];
+
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+    private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_BUFFER_SIZE * 2);
+
+    public ExecLogFormatter(PrintStream out) {
+        this(out, DEFAULT_FORMAT, Charset.defaultCharset());
+    }
+
+    /**
+     * @param out stream to print to
+     * @param format line format, {@link #DEFAULT_FORMAT} if null or empty
+     * @param charset encoding of the stream
+     */
+    public ExecLogFormatter(PrintStream out, String format, Charset charset) {
+        this.out = out;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.segments = parse(format == null || format.trim().isEmpty() ? DEFAULT_FORMAT : format);
+    }
+
+    static Object[] parse(String format) {
+        List<Object> parsed = new ArrayList<>();
+        int start = 0;
+        while (start < format.length()) {
+            int next = -1;
+            int placeholder = -1;
+            for (int i = 0; i < PLACEHOLDERS.length; i++) {
+                int index = format.indexOf(PLACEHOLDERS[i], start);
+                if (index >= 0 && (next < 0 || index < next)) {
+                    next = index;
+                    placeholder = i;
+                }
+            }
+            if (next < 0) {
+                parsed.add(format.substring(start));
+                break;
+            }
+            if (next > start) {
+                parsed.add(format.substring(start, next));
+            }
+            parsed.add(placeholder);
+            start = next + PLACEHOLDERS[placeholder].length();
+        }
+        return parsed.toArray();
+    }
+
+    /**
+     * Print one entry followed by a line separator.
+     *
+     * @return the number of bytes written
+     */
+    public int print(ExecLog entry) {
+        line.setLength(0);
+        for (Object segment : segments) {
+            if (segment instanceof String) {
+                line.append((String) segment);
+            } else {
+                switch ((Integer) segment) {
+                    case 0:
+                        line.append(entry.node);
+                        break;
+                    case 1:
+                        line.append(entry.time);
+                        break;
+                    case 2:
+                        line.append(entry.level);
+                        break;
+                    default:
+                        line.append(entry.log);
+                        break;
+                }
+            }
+        }
+        line.append(System.lineSeparator());
+        return write();
+    }
+
+    private int write() {
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+        line.getChars(0, length, chars, 0);
+        charBuffer.clear();
+        charBuffer.limit(length);
+
+        bytes.clear();
+        encoder.reset();
+        CoderResult result = encoder.encode(charBuffer, bytes, true);
+        while (result.isOverflow()) {
+            growBytes();
+            result = encoder.encode(charBuffer, bytes, true);
+        }
+        result = encoder.flush(bytes);
+        while (result.isOverflow()) {
+            growBytes();
+            result = encoder.flush(bytes);
+        }
+        out.write(bytes.array(), 0, bytes.position());
+        return bytes.position();
+    }
+
+    private void growBytes() {
+        ByteBuffer larger = ByteBuffer.allocate(bytes.capacity() * 2);
+        bytes.flip();
+        larger.put(bytes);
+        bytes = larger;
+    }
+}
@@ -1,10 +1,12 @@
 package org.jenkinsci.plugins.rundeck;
 
+import hudson.model.TaskListener;
 import org.jenkinsci.plugins.rundeck.client.RundeckManager;
 import org.rundeck.client.api.model.ExecLog;
 import org.rundeck.client.api.model.ExecOutput;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -21,6 +23,11 @@ public class RunDeckLogTail implements Iterable<List<ExecLog>> {
 
     private static final Logger log = Logger.getLogger(RunDeckLogTail.class.getName());
 
+    /** Line size assumed by the streaming mode until actual lines have been received */
+    private static final int DEFAULT_AVERAGE_LINE_SIZE_IN_BYTES = 120;
+
+    private static final int MAX_STREAMING_PAGE_LINES = 20000;
+
     private final RundeckManager rundeckClient;
     private final Long executionId;
     private final int maxlines;
@@ -28,6 +35,8 @@ public class RunDeckLogTail implements Iterable<List<ExecLog>> {
     private final long sleepRetry;
     private final long sleepUnmodified;
     private final long sleepModified;
+    private final int pageSizeInBytes;
+    private TaskListener listener;
 
     /**
      * Standard constructor that contains sensible defaults for handling the API calls correctly.
@@ -55,6 +64,33 @@ public class RunDeckLogTail implements Iterable<List<ExecLog>> {
      * @param sleepModified sleep time in ms when the results are modified
      */
     public RunDeckLogTail(RundeckManager rundeckClient, Long executionId, int maxlines, int maxRetries, long sleepRetry, long sleepUnmodified, long sleepModified) {
+        this(rundeckClient, executionId, maxlines, maxRetries, sleepRetry, sleepUnmodified, sleepModified, 0);
+    }
+
+    /**
+     * Streaming constructor with sensible defaults: pages are sized by bytes instead of lines and fetched back to back
+     * while Rundeck has more output than what was read, so large logs are tailed at network speed.
+     *
+     * @param rundeckClient Rundeck Client
+     * @param executionId Execution ID
+     * @param pageSizeInBytes approximate amount of output to fetch on each API call
+     */
+    public RunDeckLogTail(RundeckManager rundeckClient, Long executionId, int pageSizeInBytes) {
+        this(rundeckClient, executionId, 50, 5, 15000L, 5000L, 250L, pageSizeInBytes);
+    }
+
+    /**
+     * Extended constructor containing all the variables that can be set, including the streaming mode.
+     *
+     * @param sleepUnmodified sleep time in ms when the results are unmodified. In streaming mode, the maximum delay
+     *            reached by doubling the delay while the output does not change
+     * @param sleepModified sleep time in ms when the results are modified. In streaming mode, the delay used once all
+     *            the available output has been read
+     * @param pageSizeInBytes approximate amount of output to fetch on each API call, enables the streaming mode when
+     *            greater than 0
+     */
+    public RunDeckLogTail(RundeckManager rundeckClient, Long executionId, int maxlines, int maxRetries, long sleepRetry,
+                          long sleepUnmodified, long sleepModified, int pageSizeInBytes) {
         this.rundeckClient = rundeckClient;
         this.executionId = executionId;
         this.maxlines = maxlines;
@@ -62,7 +98,14 @@ public class RunDeckLogTail implements Iterable<List<ExecLog>> {
         this.sleepRetry = sleepRetry;
         this.sleepUnmodified = sleepUnmodified;
         this.sleepModified = sleepModified;
+        this.pageSizeInBytes = pageSizeInBytes;
+    }
 
+    /**
+     * @param listener where to report the failing API calls, in addition to the Jenkins log
+     */
+    public void setListener(TaskListener listener) {
+        this.listener = listener;
     }
 
     public RunDeckLogTailIterator iterator() {
@@ -78,11 +121,18 @@ public class RunDeckLogTail implements Iterable<List<ExecLog>> {
 
         protected List<ExecLog> next;
 
+        protected Long lastModified;
+        protected boolean caughtUp;
+        protected double averageLineSizeInBytes = DEFAULT_AVERAGE_LINE_SIZE_IN_BYTES;
+        protected long unmodifiedDelay = sleepModified;
+
         /**
          * This will clear and update the result set for the @link {@link #next()} call using the RunDeck Client to perform an API call, it will also update the
          * offset and last modification date for the next API call. If there are no changes since the last call, this method will sleep for 5 seconds. If there
          * are changes, it will sleep for 2 seconds so it won't overload the API. Once the API call returns with 'completed' the next call to this method will
          * return false. If for some reason the sleep is interrupted, the next call to this method will return false.
+         * A failing API call is retried after sleepRetry ms, up to maxRetries times before an {@link UncheckedIOException}
+         * is thrown.
          */
         public boolean hasNext() {
 
@@ -94,6 +144,11 @@ public class RunDeckLogTail implements Iterable<List<ExecLog>> {
 
             try {
                 try {
+                    if (pageSizeInBytes > 0) {
+                        streamNext();
+                        retries = 0;
+                        return true;
+                    }
                     log.log(Level.FINE, "Performing API call for executionId [{0}], using offset [{1}]. fetching a maximum of [{2}] lines.", new Object[] {
                             executionId, offset, maxlines });
                     ExecOutput rundeckOutput = rundeckClient.getOutput(executionId, offset, 0, controlMaxlines);
@@ -117,7 +172,7 @@ public class RunDeckLogTail implements Iterable<List<ExecLog>> {
                             maxRetries, e });
                     sleepOrThrowException(e);
                 } catch (IOException e) {
-                    e.printStackTrace();
+                    sleepOrGiveUp(e);
                 }
             } catch (InterruptedException e) {
                 log.warning("Caught InterruptedException, will set completed to 'true'.");
@@ -126,6 +181,58 @@ public class RunDeckLogTail implements Iterable<List<ExecLog>> {
             return true;
         }
 
+        /**
+         * Streaming mode: the page size is derived from the byte budget and the average size of the lines received so
+         * far. There is no pause while Rundeck reports more output than what has been read; once caught up, the pause
+         * is short while the output keeps changing and doubles, up to sleepUnmodified, while it does not. The last
+         * modification date is only sent once caught up: before that, Rundeck must return the next page whatever it is.
+         */
+        private void streamNext() throws IOException, InterruptedException {
+            long pageLines = Math.max(1, Math.min(MAX_STREAMING_PAGE_LINES, (long) (pageSizeInBytes / averageLineSizeInBytes)));
+            log.log(Level.FINE, "Performing streaming API call for executionId [{0}], using offset [{1}]. fetching a maximum of [{2}] lines.", new Object[] {
+                    executionId, offset, pageLines });
+            long lastmod = caughtUp && lastModified != null ? lastModified : 0L;
+            ExecOutput rundeckOutput = rundeckClient.getOutput(executionId.toString(), offset, lastmod, pageLines);
+            completed = checkCompletionState(rundeckOutput);
+
+            long previousOffset = offset;
+            boolean offsetChanged = updateIterationState(rundeckOutput);
+            Number modified = rundeckOutput.lastModified;
+            lastModified = modified != null ? modified.longValue() : null;
+
+            List<ExecLog> entries = rundeckOutput.entries;
+            if (entries != null) {
+                for (ExecLog rundeckOutputEntry : entries) {
+                    if (rundeckOutputEntry.log != null) {
+                        next.add(rundeckOutputEntry);
+                    }
+                }
+                if (!entries.isEmpty() && offset > previousOffset) {
+                    double pageAverage = (double) (offset - previousOffset) / entries.size();
+                    averageLineSizeInBytes = Math.max(1, (averageLineSizeInBytes + pageAverage) / 2);
+                }
+            }
+
+            Number totalSize = rundeckOutput.totalSize;
+            caughtUp = totalSize != null && offset >= totalSize.longValue();
+            if (completed) {
+                return;
+            }
+            boolean moreAvailable = offsetChanged && totalSize != null && offset < totalSize.longValue();
+            if (moreAvailable) {
+                log.log(Level.FINE, "More output available at offset [{0}], fetching it right away.", offset);
+                unmodifiedDelay = sleepModified;
+            } else if (offsetChanged) {
+                log.log(Level.FINE, "Caught up with the output, sleeping for [{0}] ms.", sleepModified);
+                unmodifiedDelay = sleepModified;
+                Thread.sleep(sleepModified);
+            } else {
+                unmodifiedDelay = Math.min(sleepUnmodified, Math.max(1, unmodifiedDelay) * 2);
+                log.log(Level.FINE, "Results hasn't changed, sleeping for [{0}] ms.", unmodifiedDelay);
+                Thread.sleep(unmodifiedDelay);
+            }
+        }
+
         private boolean checkCompletionState(ExecOutput rundeckOutput) {
             return checkOutputCompletionState(rundeckOutput) && checkExecCompletionState(rundeckOutput);
         }
@@ -151,6 +258,20 @@ public class RunDeckLogTail implements Iterable<List<ExecLog>> {
             Thread.sleep(sleepRetry);
         }
 
+        private void sleepOrGiveUp(IOException e) throws InterruptedException {
+            if (listener != null) {
+                listener.getLogger().printf("Unable to fetch the Rundeck execution output: %s%n", e.getMessage());
+            }
+            if (retries >= maxRetries) {
+                log.log(Level.SEVERE, "Giving up after [{0}] retries...", new Object[] { maxRetries, e });
+                throw new UncheckedIOException(e);
+            }
+            retries++;
+            log.log(Level.WARNING, "Caught IOException while handling API call for logs, retry [{0}] of [{1}].", new Object[] {
+                    retries, maxRetries, e });
+            Thread.sleep(sleepRetry);
+        }
+
         private boolean updateIterationState(ExecOutput rundeckOutput) {
             long nextOffset = rundeckOutput.offset;
             if (offset != nextOffset) {
@@ -0,0 +1,119 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.model.Run;
+import org.rundeck.client.api.model.ExecLog;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the Rundeck output of an execution to a gzip compressed file stored with the build. The console only gets an
+ * excerpt made of the first and last lines, see {@link #printExcerpt(PrintStream)}.
+ */
+public class RundeckCompressedOutput implements Closeable {
+
+    public static final String DIRECTORY_NAME = "rundeck-output";
+
+    public static final String FILE_EXTENSION = ".log.gz";
+
+    static final int EXCERPT_LINES = 20;
+
+    private final File file;
+
+    private final String format;
+
+    private final Charset charset;
+
+    private final PrintStream stream;
+
+    private final ExecLogFormatter formatter;
+
+    private final List<ExecLog> head = new ArrayList<>(EXCERPT_LINES);
+
+    private final Deque<ExecLog> tail = new ArrayDeque<>(EXCERPT_LINES);
+
+    private long lineCount;
+
+    private long uncompressedSize;
+
+    public RundeckCompressedOutput(Run<?, ?> build, String executionId, String format, Charset charset) throws IOException {
+        this(new File(directoryOf(build), fileNameOf(executionId)), format, charset);
+    }
+
+    RundeckCompressedOutput(File file, String format, Charset charset) throws IOException {
+        this.file = file;
+        this.format = format;
+        this.charset = charset;
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " + directory);
+        }
+        // a retried build step fetches the whole output again, start from an empty file
+        this.stream = new PrintStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file, false))), false, charset.name());
+        this.formatter = new ExecLogFormatter(stream, format, charset);
+    }
+
+    public static File directoryOf(Run<?, ?> build) {
+        return new File(build.getRootDir(), DIRECTORY_NAME);
+    }
+
+    /**
+     * @return the name of the output file of the given execution, made of safe characters only
+     */
+    static String fileNameOf(String executionId) {
+        return "execution-" + executionId.replaceAll("[^A-Za-z0-9_-]", "_") + FILE_EXTENSION;
+    }
+
+    /**
+     * Append the entry to the compressed output, keeping it for the excerpt if it is one of the first or last lines.
+     */
+    public void write(ExecLog entry) {
+        uncompressedSize += formatter.print(entry);
+        lineCount++;
+        if (head.size() < EXCERPT_LINES) {
+            head.add(entry);
+            return;
+        }
+        if (tail.size() == EXCERPT_LINES) {
+            tail.removeFirst();
+        }
+        tail.addLast(entry);
+    }
+
+    /**
+     * Print the first and last lines of the output, and where to find the whole output.
+     */
+    public void printExcerpt(PrintStream logger) {
+        ExecLogFormatter consoleFormatter = new ExecLogFormatter(logger, format, charset);
+        for (ExecLog entry : head) {
+            consoleFormatter.print(entry);
+        }
+        long omitted = lineCount - head.size() - tail.size();
+        if (omitted > 0) {
+            logger.printf("... %d line(s) omitted ...%n", omitted);
+        }
+        for (ExecLog entry : tail) {
+            consoleFormatter.print(entry);
+        }
+        logger.printf("Rundeck output (%d lines, %d bytes) written to %s, see \"%s\" on the build page%n",
+                lineCount, uncompressedSize, file.getName(), RundeckCompressedOutputAction.DISPLAY_NAME);
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+        if (stream.checkError()) {
+            throw new IOException("Unable to write the Rundeck output to " + file);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Build page link to the compressed Rundeck outputs written by {@link RundeckCompressedOutput}, one per execution.
+ * An output is decompressed while it is streamed to the browser.
+ */
+public class RundeckCompressedOutputAction implements RunAction2 {
+
+    public static final String DISPLAY_NAME = "Rundeck output";
+
+    private transient Run<?, ?> run;
+
+    @Override
+    public String getIconFileName() {
+        return "/plugin/rundeck/images/rundeck_24x24.png";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return DISPLAY_NAME;
+    }
+
+    @Override
+    public String getUrlName() {
+        return RundeckCompressedOutput.DIRECTORY_NAME;
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> r) {
+        this.run = r;
+    }
+
+    @Override
+    public void onLoad(Run<?, ?> r) {
+        this.run = r;
+    }
+
+    public Run<?, ?> getRun() {
+        return run;
+    }
+
+    /**
+     * @return the output files, sorted by name
+     */
+    public List<File> getOutputs() {
+        File[] files = RundeckCompressedOutput.directoryOf(run).listFiles((dir, name) -> name.endsWith(RundeckCompressedOutput.FILE_EXTENSION));
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Serve the decompressed output of one execution as plain text.
+     */
+    public void doLog(StaplerResponse rsp, @QueryParameter String file) throws IOException {
+        RundeckNodeLogsAction.serveCompressedLog(rsp, RundeckCompressedOutput.directoryOf(run), file, RundeckCompressedOutput.FILE_EXTENSION,
+                run.getCharset());
+    }
+}
@@ -0,0 +1,345 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.jenkinsci.plugins.rundeck.client.RundeckClientManager;
+import org.jenkinsci.plugins.rundeck.client.RundeckClientRegistry;
+import org.jenkinsci.plugins.rundeck.client.RundeckManager;
+import org.jenkinsci.plugins.rundeck.polling.PollingStrategy;
+import org.rundeck.client.api.model.Execution;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Central watcher for running Rundeck executions. Waiting builds register the execution they are interested in and
+ * get called back once it reaches a terminal status.
+ * <p>
+ * All the executions are polled from a single task, on a thread of its own so that a slow Rundeck server does not hold
+ * the shared {@link jenkins.util.Timer}. Each execution keeps its own polling schedule. The executions due in the same
+ * tick which share the Rundeck instance, credentials and project are checked together with one "running executions"
+ * query, only the executions missing from that list (i.e. finished) are then fetched one by one to get their final
+ * state.
+ */
+public class RundeckExecutionWatcher {
+
+    private static final Logger log = Logger.getLogger(RundeckExecutionWatcher.class.getName());
+
+    /** Resolution of the watcher, each execution is only polled when its own delay has elapsed */
+    private static final long TICK_IN_MILLIS = 500;
+
+    private static final int MAX_CONSECUTIVE_FAILURES = 10;
+
+    /** Interval at which blocked waiters check that the polling task is still alive */
+    private static final long LIVENESS_CHECK_IN_MILLIS = 60 * 1000;
+
+    private static final RundeckExecutionWatcher INSTANCE = new RundeckExecutionWatcher();
+
+    private final Map<String, Watch> watches = new ConcurrentHashMap<>();
+
+    private ScheduledThreadPoolExecutor executor;
+
+    private ScheduledFuture<?> task;
+
+    RundeckExecutionWatcher() {
+    }
+
+    public static RundeckExecutionWatcher get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Callback notified when a watched execution is over.
+     */
+    public interface Callback {
+
+        /**
+         * @param execution the execution, in a terminal status
+         */
+        void onFinished(Execution execution);
+
+        /**
+         * @param cause the reason why the execution could not be watched anymore
+         */
+        void onError(Throwable cause);
+    }
+
+    /**
+     * Start watching the given execution.
+     *
+     * @param watchId unique identifier of the waiting party, used to stop watching
+     * @param rundeckClient client used to poll the execution
+     * @param project Rundeck project of the execution, used to batch the polling (may be null)
+     * @param executionId execution to watch
+     * @param pollingStrategy decides when the execution is polled again
+     * @param callback notified when the execution is over
+     */
+    public synchronized void watch(String watchId, RundeckManager rundeckClient, String project, String executionId,
+                                   PollingStrategy pollingStrategy, Callback callback) {
+        log.fine(format("Watching Rundeck execution #%s for %s with %s", executionId, watchId, pollingStrategy));
+        watches.put(watchId, new Watch(rundeckClient, project, executionId, pollingStrategy, callback));
+        ensurePolling();
+    }
+
+    public synchronized void unwatch(String watchId) {
+        watches.remove(watchId);
+        stopIfIdle();
+    }
+
+    /**
+     * Block the current thread until the given execution is over. The polling itself is still shared with the other
+     * waiting builds.
+     *
+     * @return the execution, in a terminal status
+     * @throws InterruptedException if the waiting thread was interrupted (e.g. build cancelled)
+     * @throws IOException if the execution could not be polled anymore
+     */
+    public Execution waitFor(RundeckManager rundeckClient, Execution execution, PollingStrategy pollingStrategy)
+            throws InterruptedException, IOException {
+        return waitForAll(rundeckClient, Collections.singletonList(execution), running -> pollingStrategy).get(0);
+    }
+
+    /**
+     * Block the current thread until all the given executions are over. They are watched at the same time, so the
+     * wait lasts as long as the slowest execution.
+     *
+     * @param pollingStrategies gives the polling strategy of each running execution
+     * @return the executions in the same order, in a terminal status
+     * @throws InterruptedException if the waiting thread was interrupted (e.g. build cancelled)
+     * @throws IOException if one of the executions could not be polled anymore
+     */
+    public List<Execution> waitForAll(RundeckManager rundeckClient, List<Execution> executions,
+                                      Function<Execution, PollingStrategy> pollingStrategies)
+            throws InterruptedException, IOException {
+        List<CompletableFuture<Execution>> finished = new ArrayList<>(executions.size());
+        List<String> watchIds = new ArrayList<>();
+        try {
+            for (Execution execution : executions) {
+                if (!RundeckClientManager.ExecutionStatus.RUNNING.toString().equals(execution.getStatus())) {
+                    finished.add(CompletableFuture.completedFuture(execution));
+                    continue;
+                }
+                CompletableFuture<Execution> future = new CompletableFuture<>();
+                String watchId = "blocking-" + Thread.currentThread().getId() + "-" + execution.getId();
+                watchIds.add(watchId);
+                watch(watchId, rundeckClient, execution.getProject(), execution.getId(),
+                        pollingStrategies.apply(execution), new Callback() {
+                    @Override
+                    public void onFinished(Execution execution) {
+                        future.complete(execution);
+                    }
+
+                    @Override
+                    public void onError(Throwable cause) {
+                        future.completeExceptionally(cause);
+                    }
+                });
+                finished.add(future);
+            }
+            CompletableFuture<Void> all = CompletableFuture.allOf(finished.toArray(new CompletableFuture[0]));
+            while (true) {
+                try {
+                    all.get(LIVENESS_CHECK_IN_MILLIS, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    ensurePolling();
+                }
+            }
+            List<Execution> result = new ArrayList<>(finished.size());
+            for (CompletableFuture<Execution> future : finished) {
+                result.add(future.get());
+            }
+            return result;
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            for (String watchId : watchIds) {
+                unwatch(watchId);
+            }
+        }
+    }
+
+    public int getWatchedCount() {
+        return watches.size();
+    }
+
+    /**
+     * Schedule the polling task if executions are watched and the task is not running, including when it has died.
+     */
+    private synchronized void ensurePolling() {
+        if (watches.isEmpty() || task != null && !task.isDone()) {
+            return;
+        }
+        if (task != null) {
+            log.warning("Rundeck execution polling had stopped, restarting it");
+        }
+        if (executor == null || executor.isShutdown()) {
+            executor = new ScheduledThreadPoolExecutor(1, new NamingThreadFactory(new DaemonThreadFactory(), "Rundeck execution watcher"));
+            executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+            executor.allowCoreThreadTimeOut(true);
+            executor.setRemoveOnCancelPolicy(true);
+        }
+        task = executor.scheduleWithFixedDelay(this::poll, TICK_IN_MILLIS, TICK_IN_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop polling, e.g. when Jenkins shuts down. Executions stay registered: polling starts again with the next
+     * {@link #watch}.
+     */
+    void shutdown() {
+        ScheduledThreadPoolExecutor stopped;
+        synchronized (this) {
+            if (task != null) {
+                task.cancel(false);
+                task = null;
+            }
+            stopped = executor;
+            executor = null;
+        }
+        if (stopped != null) {
+            RundeckExecutors.shutdownAndAwait(stopped, "Rundeck execution watcher");
+        }
+    }
+
+    private synchronized void stopIfIdle() {
+        if (watches.isEmpty() && task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    /**
+     * Poll the executions which are due. Never throws: an exception escaping a periodic task would silently cancel it.
+     */
+    void poll() {
+        try {
+            pollDueWatches();
+        } catch (Throwable e) {
+            log.log(Level.WARNING, "Failed to poll the watched Rundeck executions", e);
+        }
+    }
+
+    private void pollDueWatches() {
+        long now = System.currentTimeMillis();
+        Map<String, List<Map.Entry<String, Watch>>> dueWatchesByGroup = new LinkedHashMap<>();
+        for (Map.Entry<String, Watch> entry : watches.entrySet()) {
+            if (entry.getValue().nextPollAt <= now) {
+                dueWatchesByGroup.computeIfAbsent(entry.getValue().groupKey, key -> new ArrayList<>()).add(entry);
+            }
+        }
+        for (List<Map.Entry<String, Watch>> dueWatches : dueWatchesByGroup.values()) {
+            pollGroup(dueWatches, now);
+        }
+        stopIfIdle();
+    }
+
+    private void pollGroup(List<Map.Entry<String, Watch>> dueWatches, long now) {
+        Set<String> runningIds = null;
+        Watch first = dueWatches.get(0).getValue();
+        if (dueWatches.size() > 1 && first.project != null) {
+            try {
+                runningIds = new HashSet<>();
+                for (Execution running : first.rundeckClient.getRunningExecutions(first.project)) {
+                    runningIds.add(running.getId());
+                }
+            } catch (Exception e) {
+                log.log(Level.FINE, format("Failed to list running executions of project %s, polling one by one", first.project), e);
+                runningIds = null;
+            }
+        }
+
+        for (Map.Entry<String, Watch> entry : dueWatches) {
+            Watch watch = entry.getValue();
+            if (watches.get(entry.getKey()) != watch) {
+                // unwatched while the group was being polled
+                continue;
+            }
+            if (runningIds != null && runningIds.contains(watch.executionId)) {
+                watch.failures = 0;
+                watch.scheduleNextPoll(now);
+            } else {
+                pollOne(entry.getKey(), watch, now);
+            }
+        }
+    }
+
+    private void pollOne(String watchId, Watch watch, long now) {
+        try {
+            Execution execution = watch.rundeckClient.getExecution(watch.executionId);
+            watch.failures = 0;
+            if (execution != null && !RundeckClientManager.ExecutionStatus.RUNNING.toString().equals(execution.getStatus())) {
+                finish(watchId, watch, execution, null);
+                return;
+            }
+        } catch (Exception e) {
+            log.log(Level.FINE, format("Failed to poll Rundeck execution #%s", watch.executionId), e);
+            if (++watch.failures >= MAX_CONSECUTIVE_FAILURES) {
+                finish(watchId, watch, null, e);
+                return;
+            }
+        }
+        watch.scheduleNextPoll(now);
+    }
+
+    private void finish(String watchId, Watch watch, Execution execution, Throwable error) {
+        if (!watches.remove(watchId, watch)) {
+            return;
+        }
+        try {
+            if (error == null) {
+                watch.callback.onFinished(execution);
+            } else {
+                watch.callback.onError(error);
+            }
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, format("Callback failed for Rundeck execution #%s", watch.executionId), e);
+        }
+    }
+
+    private static final class Watch {
+
+        private final RundeckManager rundeckClient;
+        private final String project;
+        private final String executionId;
+        private final PollingStrategy pollingStrategy;
+        private final Callback callback;
+        private final String groupKey;
+        private final long watchedSince = System.currentTimeMillis();
+        private volatile long nextPollAt;
+        private int pollCount;
+        private int failures;
+
+        private Watch(RundeckManager rundeckClient, String project, String executionId, PollingStrategy pollingStrategy,
+                      Callback callback) {
+            this.rundeckClient = rundeckClient;
+            this.project = project;
+            this.executionId = executionId;
+            this.pollingStrategy = pollingStrategy;
+            this.callback = callback;
+            // watches sharing this key are polled together : same Rundeck server and credentials, same project
+            this.groupKey = RundeckClientRegistry.keyOf(rundeckClient.getRundeckInstance()) + '|' + project;
+        }
+
+        private void scheduleNextPoll(long now) {
+            nextPollAt = now + pollingStrategy.getDelayInMillis(pollCount++, now - watchedSince);
+        }
+    }
+}
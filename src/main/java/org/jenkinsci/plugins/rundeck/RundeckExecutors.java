@@ -0,0 +1,82 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.init.Terminator;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Thread pools of the plugin. Work which blocks on Rundeck (starting executions, fetching their output) runs on a
+ * bounded pool of its own instead of the shared {@link jenkins.util.Timer}, whose few threads also run the periodic
+ * tasks of Jenkins.
+ */
+public final class RundeckExecutors {
+
+    private static final Logger log = Logger.getLogger(RundeckExecutors.class.getName());
+
+    private static final int LAUNCHER_THREADS = Integer.getInteger(RundeckExecutors.class.getName() + ".launcherThreads", 10);
+
+    private static final long SHUTDOWN_TIMEOUT_IN_SECONDS = 10;
+
+    private static ExecutorService launcher;
+
+    private RundeckExecutors() {
+    }
+
+    /**
+     * @return the pool used to start Rundeck executions and handle their completion, created on first use
+     */
+    public static synchronized ExecutorService launcher() {
+        if (launcher == null || launcher.isShutdown()) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(LAUNCHER_THREADS, LAUNCHER_THREADS, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new NamingThreadFactory(new DaemonThreadFactory(), "Rundeck launcher"));
+            pool.allowCoreThreadTimeOut(true);
+            launcher = pool;
+        }
+        return launcher;
+    }
+
+    /**
+     * Stop accepting work and give the running tasks some time to finish. Tasks which are still queued after that are
+     * dropped and logged.
+     *
+     * @param executor pool to shut down
+     * @param name name of the pool, for the logs
+     */
+    static void shutdownAndAwait(ExecutorService executor, String name) {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Runnable> abandoned = executor.shutdownNow();
+        log.warning(format("%s did not terminate within %d seconds, %d queued task(s) abandoned",
+                name, SHUTDOWN_TIMEOUT_IN_SECONDS, abandoned.size()));
+    }
+
+    @Terminator
+    public static void shutdown() {
+        RundeckExecutionWatcher.get().shutdown();
+        ExecutorService pool;
+        synchronized (RundeckExecutors.class) {
+            pool = launcher;
+            launcher = null;
+        }
+        if (pool != null) {
+            log.log(Level.FINE, "Shutting down the Rundeck launcher pool");
+            shutdownAndAwait(pool, "Rundeck launcher pool");
+        }
+    }
+}
@@ -16,6 +16,8 @@ import org.jenkinsci.plugins.rundeck.client.RundeckClientManager;
 import org.rundeck.client.api.LoginFailed;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class RundeckInstance extends AbstractDescribableImpl<RundeckInstance>{
 
@@ -29,6 +31,7 @@ public class RundeckInstance extends AbstractDescribableImpl<RundeckInstance>{
     private boolean sslCertificateTrustAllowSelfSigned;
     private boolean systemProxyEnabled;
     private boolean useIntermediateStreamFile;
+    private String preloadProjects;
 
     @DataBoundConstructor
     public RundeckInstance(final String name, final String url) {
@@ -143,6 +146,30 @@ public class RundeckInstance extends AbstractDescribableImpl<RundeckInstance>{
         this.useIntermediateStreamFile = useIntermediateStreamFile;
     }
 
+    /**
+     * @return comma separated list of projects whose jobs are preloaded in the job cache
+     */
+    public String getPreloadProjects() {
+        return preloadProjects;
+    }
+
+    @DataBoundSetter
+    public void setPreloadProjects(String preloadProjects) {
+        this.preloadProjects = Util.fixEmptyAndTrim(preloadProjects);
+    }
+
+    public List<String> getPreloadProjectList() {
+        List<String> projects = new ArrayList<>();
+        if (preloadProjects != null) {
+            for (String project : preloadProjects.split(",")) {
+                if (!project.trim().isEmpty()) {
+                    projects.add(project.trim());
+                }
+            }
+        }
+        return projects;
+    }
+
     @Override
     public String toString() {
         return "RundeckInstance{" +
@@ -155,6 +182,7 @@ public class RundeckInstance extends AbstractDescribableImpl<RundeckInstance>{
                 ", sslCertificateTrustAllowSelfSigned=" + sslCertificateTrustAllowSelfSigned +
                 ", systemProxyEnabled=" + systemProxyEnabled +
                 ", useIntermediateStreamFile=" + useIntermediateStreamFile +
+                ", preloadProjects='" + preloadProjects + '\'' +
                 '}';
     }
     @Extension
@@ -0,0 +1,56 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.rundeck.cache.RundeckJobCacheConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically reloads the jobs of the preloaded projects in the Rundeck job cache, so that entries evicted in the
+ * meantime or jobs created since the last preload are served without a per-job API call.
+ */
+@Extension
+public class RundeckJobCachePreloader extends AsyncPeriodicWork {
+
+    private long lastPreloadAt = System.currentTimeMillis();
+
+    public RundeckJobCachePreloader() {
+        super("Rundeck job cache preloader");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.MINUTES.toMillis(1);
+    }
+
+    @Override
+    protected void execute(TaskListener listener) {
+        RundeckNotifier.RundeckDescriptor descriptor = Jenkins.get().getDescriptorByType(RundeckNotifier.RundeckDescriptor.class);
+        if (descriptor == null) {
+            return;
+        }
+        if (isPreloadDue(descriptor.getRundeckJobCacheConfig(), System.currentTimeMillis())) {
+            descriptor.preloadRundeckJobCache();
+        }
+    }
+
+    /**
+     * The work runs every minute, the projects are only reloaded once the configured preload interval has elapsed since
+     * the last preload.
+     *
+     * @return true if the projects must be reloaded now, the preload is then considered done
+     */
+    boolean isPreloadDue(RundeckJobCacheConfig config, long now) {
+        if (!config.isEnabled() || config.getPreloadIntervalInMinutes() <= 0) {
+            return false;
+        }
+        if (now - lastPreloadAt < TimeUnit.MINUTES.toMillis(config.getPreloadIntervalInMinutes())) {
+            return false;
+        }
+        lastPreloadAt = now;
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+/**
+ * One Rundeck job, with its own options and node filters, launched in parallel with the main job of a
+ * {@link RundeckNotifier}.
+ */
+public class RundeckJobLaunch extends AbstractDescribableImpl<RundeckJobLaunch> {
+
+    private final String jobIdentifier;
+
+    private String options;
+
+    private String nodeFilters;
+
+    @DataBoundConstructor
+    public RundeckJobLaunch(String jobIdentifier) {
+        this.jobIdentifier = Util.fixEmptyAndTrim(jobIdentifier);
+    }
+
+    RundeckJobLaunch(String jobIdentifier, String options, String nodeFilters) {
+        this(jobIdentifier);
+        this.options = options;
+        this.nodeFilters = nodeFilters;
+    }
+
+    public String getJobIdentifier() {
+        return jobIdentifier;
+    }
+
+    public String getOptions() {
+        return options;
+    }
+
+    @DataBoundSetter
+    public void setOptions(String options) {
+        this.options = options;
+    }
+
+    public String getNodeFilters() {
+        return nodeFilters;
+    }
+
+    @DataBoundSetter
+    public void setNodeFilters(String nodeFilters) {
+        this.nodeFilters = nodeFilters;
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<RundeckJobLaunch> {
+
+        @Override
+        public String getDisplayName() {
+            return "Rundeck job";
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.model.Run;
+import org.rundeck.client.api.model.ExecLog;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Demultiplexes the Rundeck output of an execution into one gzip compressed log file per node, stored with the build
+ * in a directory per execution. The console only gets a summary and an excerpt of the error lines of each node, see
+ * {@link #printSummary(PrintStream)}.
+ * <p>
+ * Only a bounded number of files are kept open at once: when a node which was closed logs again, its file is appended
+ * with a new gzip member, which gzip readers handle transparently.
+ */
+public class RundeckNodeLogs implements Closeable {
+
+    public static final String DIRECTORY_NAME = "rundeck-node-logs";
+
+    public static final String FILE_EXTENSION = ".log.gz";
+
+    static final String EXECUTION_DIRECTORY_PREFIX = "execution-";
+
+    private static final int MAX_OPEN_FILES = 64;
+
+    private static final int EXCERPT_LINES_PER_NODE = 20;
+
+    private static final int MAX_NODES_IN_SUMMARY = 50;
+
+    private static final String UNKNOWN_NODE = "unknown";
+
+    private final File directory;
+
+    private final String format;
+
+    private final Charset charset;
+
+    private final Map<String, NodeLog> nodeLogs = new TreeMap<>();
+
+    private final LinkedHashMap<String, NodeLog> openNodeLogs = new LinkedHashMap<String, NodeLog>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NodeLog> eldest) {
+            if (size() > MAX_OPEN_FILES) {
+                eldest.getValue().closeFile();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private long lineCount;
+
+    private IOException writeError;
+
+    public RundeckNodeLogs(Run<?, ?> build, String executionId, String format, Charset charset) throws IOException {
+        this(new File(directoryOf(build), directoryNameOf(executionId)), format, charset);
+    }
+
+    RundeckNodeLogs(File directory, String format, Charset charset) throws IOException {
+        this.directory = directory;
+        this.format = format;
+        this.charset = charset;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " + directory);
+        }
+        // a retried build step fetches the whole output again, start from empty logs
+        File[] previousLogs = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+        if (previousLogs != null) {
+            for (File previousLog : previousLogs) {
+                if (!previousLog.delete()) {
+                    throw new IOException("Unable to delete previous node log " + previousLog);
+                }
+            }
+        }
+    }
+
+    public static File directoryOf(Run<?, ?> build) {
+        return new File(build.getRootDir(), DIRECTORY_NAME);
+    }
+
+    /**
+     * @return the name of the directory holding the node logs of the given execution, made of safe characters only
+     */
+    static String directoryNameOf(String executionId) {
+        return EXECUTION_DIRECTORY_PREFIX + executionId.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    /**
+     * @return the name of the log file of the given node, made of safe characters only
+     */
+    static String fileNameOf(String node) {
+        String safeName = node.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (!safeName.equals(node) || safeName.startsWith(".")) {
+            // keep distinct nodes in distinct files, e.g. "a/b" and "a_b"
+            safeName = safeName + "-" + Integer.toHexString(node.hashCode());
+        }
+        return safeName + FILE_EXTENSION;
+    }
+
+    /**
+     * Append the entry to the log of its node.
+     */
+    public void write(ExecLog entry) throws IOException {
+        String node = entry.node != null && !entry.node.isEmpty() ? entry.node : UNKNOWN_NODE;
+        NodeLog nodeLog = nodeLogs.computeIfAbsent(node, NodeLog::new);
+        if (!nodeLog.isOpen()) {
+            nodeLog.openFile();
+            openNodeLogs.put(node, nodeLog);
+        } else {
+            openNodeLogs.get(node);    // refresh the access order
+        }
+        nodeLog.write(entry);
+        lineCount++;
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    /**
+     * Print the number of nodes and lines, and the last error lines of each node which logged errors.
+     */
+    public void printSummary(PrintStream logger) {
+        logger.printf("Rundeck output of %d node(s) (%d lines) written to per-node logs, see \"%s\" on the build page%n",
+                nodeLogs.size(), lineCount, RundeckNodeLogsAction.DISPLAY_NAME);
+        int printedNodes = 0;
+        int nodesWithErrors = 0;
+        for (NodeLog nodeLog : nodeLogs.values()) {
+            if (nodeLog.errorCount == 0) {
+                continue;
+            }
+            nodesWithErrors++;
+            if (printedNodes++ >= MAX_NODES_IN_SUMMARY) {
+                continue;
+            }
+            logger.printf("--- %s: %d error line(s), last %d shown ---%n", nodeLog.node, nodeLog.errorCount, nodeLog.errorExcerpt.size());
+            for (String line : nodeLog.errorExcerpt) {
+                logger.println(line);
+            }
+        }
+        if (nodesWithErrors > MAX_NODES_IN_SUMMARY) {
+            logger.printf("... and %d more node(s) with errors%n", nodesWithErrors - MAX_NODES_IN_SUMMARY);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Iterator<NodeLog> iterator = openNodeLogs.values().iterator(); iterator.hasNext(); ) {
+            iterator.next().closeFile();
+            iterator.remove();
+        }
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    private final class NodeLog {
+
+        private final String node;
+        private final File file;
+        private final Deque<String> errorExcerpt = new ArrayDeque<>();
+        private PrintStream stream;
+        private ExecLogFormatter formatter;
+        private long errorCount;
+
+        private NodeLog(String node) {
+            this.node = node;
+            this.file = new File(directory, fileNameOf(node));
+        }
+
+        private boolean isOpen() {
+            return stream != null;
+        }
+
+        private void openFile() throws IOException {
+            stream = new PrintStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file, true))), false, charset.name());
+            formatter = new ExecLogFormatter(stream, format, charset);
+        }
+
+        private void write(ExecLog entry) {
+            formatter.print(entry);
+            if ("ERROR".equalsIgnoreCase(entry.level)) {
+                errorCount++;
+                if (errorExcerpt.size() == EXCERPT_LINES_PER_NODE) {
+                    errorExcerpt.removeFirst();
+                }
+                errorExcerpt.addLast("[" + entry.node + "] [" + entry.time + "] " + entry.log);
+            }
+        }
+
+        private void closeFile() {
+            if (stream == null) {
+                return;
+            }
+            stream.close();
+            if (stream.checkError() && writeError == null) {
+                writeError = new IOException("Unable to write the Rundeck log of node " + node + " to " + file);
+            }
+            stream = null;
+            formatter = null;
+        }
+    }
+}
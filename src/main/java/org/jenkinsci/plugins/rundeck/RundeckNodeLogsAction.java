@@ -0,0 +1,151 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerResponse;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Build page link to the per-node Rundeck logs written by {@link RundeckNodeLogs}. Only the directory listing is read
+ * to render the page, a node log is decompressed when it is requested.
+ */
+public class RundeckNodeLogsAction implements RunAction2 {
+
+    public static final String DISPLAY_NAME = "Rundeck node logs";
+
+    private transient Run<?, ?> run;
+
+    @Override
+    public String getIconFileName() {
+        return "/plugin/rundeck/images/rundeck_24x24.png";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return DISPLAY_NAME;
+    }
+
+    @Override
+    public String getUrlName() {
+        return RundeckNodeLogs.DIRECTORY_NAME;
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> r) {
+        this.run = r;
+    }
+
+    @Override
+    public void onLoad(Run<?, ?> r) {
+        this.run = r;
+    }
+
+    public Run<?, ?> getRun() {
+        return run;
+    }
+
+    /**
+     * @return the node log files, sorted by execution then by name
+     */
+    public List<NodeLogFile> getNodeLogs() {
+        File[] executionDirectories = RundeckNodeLogs.directoryOf(run).listFiles(
+                file -> file.isDirectory() && file.getName().startsWith(RundeckNodeLogs.EXECUTION_DIRECTORY_PREFIX));
+        if (executionDirectories == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(executionDirectories);
+        List<NodeLogFile> nodeLogs = new ArrayList<>();
+        for (File executionDirectory : executionDirectories) {
+            File[] files = executionDirectory.listFiles((dir, name) -> name.endsWith(RundeckNodeLogs.FILE_EXTENSION));
+            if (files == null) {
+                continue;
+            }
+            Arrays.sort(files);
+            for (File file : files) {
+                nodeLogs.add(new NodeLogFile(file));
+            }
+        }
+        return nodeLogs;
+    }
+
+    /**
+     * Serve the decompressed log of one node of one execution as plain text.
+     */
+    public void doLog(StaplerResponse rsp, @QueryParameter String execution, @QueryParameter String file) throws IOException {
+        File directory = RundeckNodeLogs.directoryOf(run);
+        File executionDirectory = new File(directory, execution == null ? "" : execution);
+        if (execution == null || !execution.startsWith(RundeckNodeLogs.EXECUTION_DIRECTORY_PREFIX)
+                || !directory.equals(executionDirectory.getParentFile())) {
+            rsp.sendError(StaplerResponse.SC_NOT_FOUND);
+            return;
+        }
+        serveCompressedLog(rsp, executionDirectory, file, RundeckNodeLogs.FILE_EXTENSION, run.getCharset());
+    }
+
+    /**
+     * Stream the given gzip file of the directory as plain text, decompressing it on the fly.
+     *
+     * @param charset encoding the file was written with, i.e. the one of the build log
+     */
+    static void serveCompressedLog(StaplerResponse rsp, File directory, String file, String extension, Charset charset) throws IOException {
+        File logFile = new File(directory, file == null ? "" : file);
+        if (file == null || !file.endsWith(extension) || !directory.equals(logFile.getParentFile())
+                || !logFile.isFile()) {
+            rsp.sendError(StaplerResponse.SC_NOT_FOUND);
+            return;
+        }
+        rsp.setContentType("text/plain;charset=" + charset.name());
+        try (InputStream in = new GZIPInputStream(new FileInputStream(logFile)); OutputStream out = rsp.getOutputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    public static class NodeLogFile {
+
+        private final String executionDirectory;
+        private final String fileName;
+        private final long compressedSize;
+
+        NodeLogFile(File file) {
+            this.executionDirectory = file.getParentFile().getName();
+            this.fileName = file.getName();
+            this.compressedSize = file.length();
+        }
+
+        public String getExecutionDirectory() {
+            return executionDirectory;
+        }
+
+        public String getExecutionId() {
+            return executionDirectory.substring(RundeckNodeLogs.EXECUTION_DIRECTORY_PREFIX.length());
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getNodeName() {
+            return fileName.substring(0, fileName.length() - RundeckNodeLogs.FILE_EXTENSION.length());
+        }
+
+        public long getCompressedSize() {
+            return compressedSize;
+        }
+    }
+}
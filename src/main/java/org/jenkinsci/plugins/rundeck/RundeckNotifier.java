@@ -12,6 +12,7 @@ import hudson.tasks.BuildStepMonitor;
 import hudson.tasks.Notifier;
 import hudson.tasks.Publisher;
 import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
 import hudson.util.Secret;
 import hudson.util.XStream2;
 import hudson.util.CopyOnWriteList;
@@ -22,13 +23,20 @@ import net.sf.json.JSONObject;
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.plugins.rundeck.cache.DummyRundeckJobCache;
 import org.jenkinsci.plugins.rundeck.cache.InMemoryRundeckJobCache;
+import org.jenkinsci.plugins.rundeck.cache.PersistentRundeckJobCache;
 import org.jenkinsci.plugins.rundeck.cache.RundeckJobCache;
 import org.jenkinsci.plugins.rundeck.cache.RundeckJobCacheConfig;
+import org.jenkinsci.plugins.rundeck.cache.RundeckJobCacheStats;
 import org.jenkinsci.plugins.rundeck.client.ExecutionData;
 import org.jenkinsci.plugins.rundeck.client.RundeckClientManager;
+import org.jenkinsci.plugins.rundeck.client.RundeckClientRegistry;
+import org.jenkinsci.plugins.rundeck.client.RundeckInstanceHealth;
 import org.jenkinsci.plugins.rundeck.client.RundeckManager;
+import org.jenkinsci.plugins.rundeck.polling.PollingStrategy;
+import org.jenkinsci.plugins.rundeck.polling.PollingStrategyType;
 import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
 import org.kohsuke.stapler.interceptor.RequirePOST;
@@ -38,7 +46,11 @@ import javax.annotation.Nonnull;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -60,7 +72,8 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
     /** Pattern used for extracting the job reference (project:group/name) */
     private static final transient Pattern JOB_REFERENCE_PATTERN = Pattern.compile("^([^:]+?):(.*?)\\/?([^/]+)$");
 
-    private static final int DELAY_BETWEEN_POLLS_IN_MILLIS = 5000;
+    /** Number of lines read at once when copying the whole Rundeck output to the build log */
+    static final int LOG_PAGE_LINES = 1000;
 
     private String rundeckInstance; //TODO: Could be renamed to rundeckInstanceName
 
@@ -93,6 +106,27 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
     /** rundeck user during job perform */
     private String performUser;
 
+    /** name of a {@link PollingStrategyType}, or null to use the global default */
+    private String pollingStrategy;
+
+    /** Page size of the streaming log tail, 0 for the line based tail */
+    private int tailLogPageSizeInKilobytes;
+
+    /** Write the Rundeck output to one log per node instead of the console, see {@link RundeckNodeLogs} */
+    private boolean logPerNode;
+
+    /** Write the Rundeck output to a compressed build file, only an excerpt goes to the console, see {@link RundeckCompressedOutput} */
+    private boolean compressLog;
+
+    /** Format of the Rundeck log lines printed in the build log, see {@link ExecLogFormatter} */
+    private String logFormat;
+
+    /** Maximum amount of Rundeck output copied to the build log, 0 for no limit */
+    private int maxLogSizeInKilobytes;
+
+    /** Jobs launched in parallel with {@link #jobId}, see {@link #notifyRundeckForAllJobs} */
+    private List<RundeckJobLaunch> additionalJobs;
+
     RundeckNotifier(String rundeckInstance, String jobId, String options, String nodeFilters, String tags,
                     Boolean shouldWaitForRundeckJob, Boolean shouldFailTheBuild, Boolean includeRundeckLogs, Boolean tailLog,
                     String jobUser, Secret jobPassword, Secret jobToken) {
@@ -144,7 +178,34 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
             return;
         }
 
-        RundeckManager rundeckClientManager = getDescriptor().getRundeckJobInstance(this.rundeckInstance, this.jobUser, this.getPassword(), this.getToken());
+        RundeckManager rundeckClientManager = connect(listener);
+
+        if (shouldNotifyRundeck(run, listener)) {
+            notifyRundeck(rundeckClientManager, run, listener);
+        }
+    }
+
+    /**
+     * Run the Rundeck job without waiting for the execution to finish. Used by {@link RundeckStep}, which waits
+     * asynchronously through the {@link RundeckExecutionWatcher}.
+     *
+     * @return the started execution, or null if Rundeck should not be notified for this build
+     */
+    Execution startExecution(@Nonnull Run<?, ?> run, @Nonnull TaskListener listener) throws AbortException {
+        RundeckManager rundeckClientManager = connect(listener);
+
+        if (!shouldNotifyRundeck(run, listener)) {
+            return null;
+        }
+        return runRundeckJob(rundeckClientManager, run, listener);
+    }
+
+    /**
+     * Return the client for the configured instance and credentials, after checking that Rundeck is alive. The check
+     * is skipped while the {@link RundeckInstanceHealth} of the instance reports recent successful calls.
+     */
+    RundeckManager connect(@Nonnull TaskListener listener) throws AbortException {
+        RundeckManager rundeckClientManager = getRundeckManager();
 
         if (rundeckClientManager == null) {
             listener.getLogger().println("Rundeck configuration is not valid !");
@@ -154,16 +215,22 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
         if(performUser==null && this.jobToken!=null){
             this.performUser ="Authenticate By token";
         }
+        RundeckInstanceHealth health = RundeckInstanceHealth.getInstance();
+        RundeckInstance instance = rundeckClientManager.getRundeckInstance();
+        if (instance != null && !health.needsPing(instance)) {
+            return rundeckClientManager;
+        }
         try {
             rundeckClientManager.ping();
         } catch (IOException e) {
             listener.getLogger().println("Rundeck is not running !");
             throw new AbortException("Rundeck is not running !");
         }
+        return rundeckClientManager;
+    }
 
-        if (shouldNotifyRundeck(run, listener)) {
-            notifyRundeck(rundeckClientManager, run, listener);
-        }
+    RundeckManager getRundeckManager() {
+        return getDescriptor().getRundeckJobInstance(this.rundeckInstance, this.jobUser, this.getPassword(), this.getToken());
     }
 
     private ChangeLogSet<? extends Entry> getChangeSet(@Nonnull Run<?, ?> run) {
@@ -239,6 +306,191 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
      * @return true if successful, false otherwise
      */
     private void notifyRundeck(RundeckManager rundeckClientManager, Run<?, ?> build, TaskListener listener) throws AbortException {
+        if (!getAdditionalJobs().isEmpty()) {
+            notifyRundeckForAllJobs(rundeckClientManager, build, listener);
+            return;
+        }
+        Execution execution = runRundeckJob(rundeckClientManager, build, listener);
+
+        if (!Boolean.TRUE.equals(shouldWaitForRundeckJob)) {
+            return;
+        }
+        try {
+            listener.getLogger().println("Waiting for Rundeck execution to finish...");
+
+            if (Boolean.TRUE.equals(includeRundeckLogs) && Boolean.TRUE.equals(tailLog)) {
+                execution = waitTailingRundeckLogsAndReturnExecution(rundeckClientManager, build, listener, execution);
+            } else {
+                execution = waitForRundeckExecutionToFinishAndReturnIt(rundeckClientManager, listener, execution);
+
+                if (Boolean.TRUE.equals(includeRundeckLogs)) {
+                    getAndPrintRundeckLogsForExecution(rundeckClientManager, build, listener, execution.getId());
+                }
+            }
+
+            switch (execution.getStatus()) {
+                case "succeeded":
+                    return;
+                case "aborted":
+                case "failed":
+                case "running":   //possible if it was unable to abort execution after an interruption
+                    if (getShouldFailTheBuild())
+                        build.setResult(Result.FAILURE);
+                    throw new AbortException();
+                default:
+                    throw new IllegalStateException(format("Unexpected executions status: %s", execution.getStatus()));
+            }
+        } catch (IOException e) {
+            throw apiError(rundeckClientManager, listener, e);
+        }
+    }
+
+    /**
+     * Notify Rundeck for the main job and the {@link #additionalJobs} : all the executions are started concurrently,
+     * then waited for together, so that the whole step lasts as long as the slowest job. The build fails if any job
+     * could not be started or did not succeed.
+     */
+    private void notifyRundeckForAllJobs(RundeckManager rundeckClientManager, Run<?, ?> build, TaskListener listener) throws AbortException {
+        List<RundeckJobLaunch> launches = new ArrayList<>();
+        launches.add(new RundeckJobLaunch(jobId, options, nodeFilters));
+        launches.addAll(getAdditionalJobs());
+        listener.getLogger().printf("Launching %d Rundeck jobs in parallel...%n", launches.size());
+
+        // if the build is interrupted while launching, the executions started so far are aborted by the build thread
+        // and the ones started afterwards by their own launch
+        List<Execution> started = new ArrayList<>(launches.size());
+        boolean[] interrupted = {false};
+        List<Future<Execution>> launched = new ArrayList<>(launches.size());
+        List<Execution> executions = new ArrayList<>(launches.size());
+        String[] launchErrors = new String[launches.size()];
+        try {
+            for (RundeckJobLaunch launch : launches) {
+                launched.add(RundeckExecutors.launcher().submit(() -> {
+                    Execution execution = runRundeckJob(rundeckClientManager, build, listener,
+                            launch.getJobIdentifier(), launch.getOptions(), launch.getNodeFilters());
+                    synchronized (started) {
+                        if (!interrupted[0]) {
+                            started.add(execution);
+                            return execution;
+                        }
+                    }
+                    abortQuietly(rundeckClientManager, listener, execution);
+                    return execution;
+                }));
+            }
+            for (int i = 0; i < launched.size(); i++) {
+                try {
+                    executions.add(launched.get(i).get());
+                } catch (ExecutionException e) {
+                    launchErrors[i] = e.getCause().getMessage();
+                } catch (InterruptedException e) {
+                    List<Execution> toAbort;
+                    synchronized (started) {
+                        interrupted[0] = true;
+                        toAbort = new ArrayList<>(started);
+                    }
+                    for (Execution execution : toAbort) {
+                        abortQuietly(rundeckClientManager, listener, execution);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new AbortException("Interrupted while launching the Rundeck jobs");
+                }
+            }
+        } finally {
+            // launches which did not start yet are dropped, running ones finish and abort their execution
+            for (Future<Execution> future : launched) {
+                future.cancel(false);
+            }
+        }
+        if (!Boolean.TRUE.equals(shouldWaitForRundeckJob)) {
+            printAggregateResultAndFailIfNeeded(build, listener, launches, executions, launchErrors);
+            return;
+        }
+
+        try {
+            listener.getLogger().printf("Waiting for %d Rundeck executions to finish...%n", executions.size());
+            try {
+                executions = RundeckExecutionWatcher.get().waitForAll(rundeckClientManager, executions, this::createPollingStrategy);
+            } catch (InterruptedException | IOException e) {
+                listener.getLogger().println("Waiting was interrupted. Probably build was cancelled. Reason: " + e);
+                List<Execution> abortedExecutions = new ArrayList<>(executions.size());
+                for (Execution execution : executions) {
+                    abortedExecutions.add(RundeckClientManager.ExecutionStatus.RUNNING.toString().equals(execution.getStatus())
+                            ? abortAndReturnExecution(rundeckClientManager, listener, execution)
+                            : execution);
+                }
+                executions = abortedExecutions;
+            }
+            for (Execution execution : executions) {
+                logExecutionStatus(listener, execution, "finished");
+                if (Boolean.TRUE.equals(includeRundeckLogs)) {
+                    getAndPrintRundeckLogsForExecution(rundeckClientManager, build, listener, execution.getId());
+                }
+            }
+        } catch (IOException e) {
+            throw apiError(rundeckClientManager, listener, e);
+        }
+        printAggregateResultAndFailIfNeeded(build, listener, launches, executions, launchErrors);
+    }
+
+    /**
+     * Abort the execution if it is still running, reporting but not throwing the errors.
+     */
+    private void abortQuietly(RundeckManager rundeckClientManager, TaskListener listener, Execution execution) {
+        if (execution == null || !RundeckClientManager.ExecutionStatus.RUNNING.toString().equals(execution.getStatus())) {
+            return;
+        }
+        try {
+            abortAndReturnExecution(rundeckClientManager, listener, execution);
+        } catch (IOException e) {
+            listener.getLogger().println("Unable to abort Rundeck execution #" + execution.getId() + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Print one line per launched job and fail if any of them could not be launched or, once waited for, did not
+     * succeed.
+     *
+     * @param executions executions of the jobs which were launched, in the order of the launches
+     * @param launchErrors error of each launch, null for the jobs which were launched
+     */
+    private void printAggregateResultAndFailIfNeeded(Run<?, ?> build, TaskListener listener, List<RundeckJobLaunch> launches,
+                                                     List<Execution> executions, String[] launchErrors) throws AbortException {
+        listener.getLogger().println("Rundeck jobs summary :");
+        Iterator<Execution> executionIterator = executions.iterator();
+        int failures = 0;
+        for (int i = 0; i < launches.size(); i++) {
+            String jobIdentifier = launches.get(i).getJobIdentifier();
+            if (launchErrors[i] != null) {
+                failures++;
+                listener.getLogger().printf("  %s : not launched (%s)%n", jobIdentifier, launchErrors[i]);
+                continue;
+            }
+            Execution execution = executionIterator.next();
+            boolean waited = Boolean.TRUE.equals(shouldWaitForRundeckJob);
+            if (waited && !RundeckClientManager.ExecutionStatus.SUCCEEDED.toString().equals(execution.getStatus())) {
+                failures++;
+            }
+            listener.getLogger().printf("  %s : execution #%s, status : %s%n", jobIdentifier, execution.getId(), execution.getStatus());
+        }
+        if (failures > 0) {
+            if (getShouldFailTheBuild())
+                build.setResult(Result.FAILURE);
+            throw new AbortException(format("%d of %d Rundeck jobs did not succeed", failures, launches.size()));
+        }
+    }
+
+    /**
+     * Find the Rundeck job and start a new execution of it.
+     *
+     * @return the started execution
+     */
+    private Execution runRundeckJob(RundeckManager rundeckClientManager, Run<?, ?> build, TaskListener listener) throws AbortException {
+        return runRundeckJob(rundeckClientManager, build, listener, jobId, options, nodeFilters);
+    }
+
+    private Execution runRundeckJob(RundeckManager rundeckClientManager, Run<?, ?> build, TaskListener listener,
+                                    String jobId, String options, String nodeFilters) throws AbortException {
         String runtimeJobId;
         // perform environment substitution before finding the rundeck job
         try {
@@ -253,7 +505,7 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
         //if the jobId is in the form "project:[group/*]name", find the actual job ID first.
         String foundJobId = null;
         try {
-            foundJobId = RundeckDescriptor.findJobId(runtimeJobId, rundeckClientManager);
+            foundJobId = RundeckDescriptor.findJobId(runtimeJobId, rundeckInstance, rundeckClientManager);
         } catch (IOException e) {
             listener.getLogger().println("Failed to get job with the identifier : " + runtimeJobId + " : " +e.getMessage());
             throw new AbortException("Failed to get job with the identifier : " + runtimeJobId + " : " +e.getMessage());
@@ -272,50 +524,34 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
             listener.getLogger().printf("Notification succeeded ! Execution #%s, at %s (status : %s)%n",
                     execution.getId(), execution.getPermalink(), execution.getStatus());
             build.addAction(new RundeckExecutionBuildBadgeAction(execution.getPermalink()));
-
-            if (Boolean.TRUE.equals(shouldWaitForRundeckJob)) {
-                listener.getLogger().println("Waiting for Rundeck execution to finish...");
-
-                if (Boolean.TRUE.equals(includeRundeckLogs) && Boolean.TRUE.equals(tailLog)) {
-                    execution = waitTailingRundeckLogsAndReturnExecution(rundeckClientManager, listener, execution);
-                } else {
-                    execution = waitForRundeckExecutionToFinishAndReturnIt(rundeckClientManager, listener, execution);
-
-                    if (Boolean.TRUE.equals(includeRundeckLogs)) {
-                        getAndPrintRundeckLogsForExecution(rundeckClientManager, listener, execution.getId());
-                    }
-                }
-
-                switch (execution.getStatus()) {
-                    case "succeeded":
-                        return;
-                    case "aborted":
-                    case "failed":
-                    case "running":   //possible if it was unable to abort execution after an interruption
-                        if (getShouldFailTheBuild())
-                            build.setResult(Result.FAILURE);
-                        throw new AbortException();
-                    default:
-                        throw new IllegalStateException(format("Unexpected executions status: %s", execution.getStatus()));
-                }
-            } else {
-                return;
-            }
+            return execution;
         } catch (IOException e) {
-            listener.getLogger().println("Error while talking to Rundeck's API at " + rundeckClientManager.getRundeckInstance().getUrl() + " : "
-                                         + e.getMessage());
-            throw new AbortException("Error while talking to Rundeck's API at " + rundeckClientManager.getRundeckInstance().getUrl() + " : " + e.getMessage());
+            throw apiError(rundeckClientManager, listener, e);
         }
     }
 
-    private Execution waitTailingRundeckLogsAndReturnExecution(RundeckManager rundeckClientManager, TaskListener listener, Execution execution) throws IOException {
+    private AbortException apiError(RundeckManager rundeckClientManager, TaskListener listener, IOException e) {
+        listener.getLogger().println("Error while talking to Rundeck's API at " + rundeckClientManager.getRundeckInstance().getUrl() + " : "
+                                     + e.getMessage());
+        return new AbortException("Error while talking to Rundeck's API at " + rundeckClientManager.getRundeckInstance().getUrl() + " : " + e.getMessage());
+    }
+
+    private Execution waitTailingRundeckLogsAndReturnExecution(RundeckManager rundeckClientManager, Run<?, ?> build, TaskListener listener, Execution execution) throws IOException {
         listener.getLogger().println("BEGIN RUNDECK TAILED LOG OUTPUT");
-        RunDeckLogTail runDeckLogTail = new RunDeckLogTail(rundeckClientManager, Long.valueOf(execution.getId()));
-        PrintStream printStream = listener.getLogger();
-        for (List<ExecLog> aRunDeckLogTail : runDeckLogTail) {
-            for (ExecLog rundeckOutputEntry : aRunDeckLogTail) {
-                printStream.println("[" + rundeckOutputEntry.node + "] " + "[" + rundeckOutputEntry.time + "] [" + rundeckOutputEntry.level + "] " + rundeckOutputEntry.log);
-            }
+        RunDeckLogTail runDeckLogTail = tailLogPageSizeInKilobytes > 0
+                ? new RunDeckLogTail(rundeckClientManager, Long.valueOf(execution.getId()), tailLogPageSizeInKilobytes * 1024)
+                : new RunDeckLogTail(rundeckClientManager, Long.valueOf(execution.getId()));
+        runDeckLogTail.setListener(listener);
+        try {
+            // the tail follows the execution until it completes, even once the output is truncated
+            copyRundeckOutput(build, listener.getLogger(), execution.getId(), handler -> {
+                for (List<ExecLog> aRunDeckLogTail : runDeckLogTail) {
+                    handlePage(aRunDeckLogTail, handler);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // the tail gave up after retrying
+            throw e.getCause();
         }
         listener.getLogger().println("END RUNDECK TAILED LOG OUTPUT");
 
@@ -324,7 +560,7 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
         return execution;
     }
 
-    private void logExecutionStatus(TaskListener listener, Execution execution, String operationName) {
+    void logExecutionStatus(TaskListener listener, Execution execution, String operationName) {
 
         ExecutionData executionData = new ExecutionData(execution);
         String duration = executionData.getDuration();
@@ -384,36 +620,180 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
     private Execution waitForRundeckExecutionToFinishAndReturnIt(RundeckManager rundeckClientManager, TaskListener listener,
                                                                  Execution execution) throws IOException {
         try {
-            while (RundeckClientManager.ExecutionStatus.RUNNING.toString().equals(execution.getStatus())) {
-                Thread.sleep(DELAY_BETWEEN_POLLS_IN_MILLIS);
-                execution = rundeckClientManager.getExecution(execution.getId());
+            if (RundeckClientManager.ExecutionStatus.RUNNING.toString().equals(execution.getStatus())) {
+                execution = RundeckExecutionWatcher.get().waitFor(rundeckClientManager, execution, createPollingStrategy(execution));
             }
             logExecutionStatus(listener, execution, "finished");
         } catch (InterruptedException | IOException e) {
             listener.getLogger().println("Waiting was interrupted. Probably build was cancelled. Reason: " + e);
-            listener.getLogger().println("Trying to abort Rundeck execution...");
-            AbortResult rundeckAbort = rundeckClientManager.abortExecution(execution.getId());
-            listener.getLogger().printf("Abort status: %s%n", rundeckAbort.abort.status);
-            execution = rundeckClientManager.getExecution(execution.getId());
-            logExecutionStatus(listener, execution, "aborted");
+            execution = abortAndReturnExecution(rundeckClientManager, listener, execution);
         }
         return execution;
     }
 
-    private void getAndPrintRundeckLogsForExecution(RundeckManager rundeckClientManager, TaskListener listener, String executionId) throws IOException {
-        listener.getLogger().println("BEGIN RUNDECK LOG OUTPUT");
+    private Execution abortAndReturnExecution(RundeckManager rundeckClientManager, TaskListener listener,
+                                              Execution execution) throws IOException {
+        listener.getLogger().println("Trying to abort Rundeck execution #" + execution.getId() + "...");
+        AbortResult rundeckAbort = rundeckClientManager.abortExecution(execution.getId());
+        listener.getLogger().printf("Abort status: %s%n", rundeckAbort.abort.status);
+        execution = rundeckClientManager.getExecution(execution.getId());
+        logExecutionStatus(listener, execution, "aborted");
+        return execution;
+    }
+
+    /**
+     * Copy the output of the execution to the build log, one page of {@link #LOG_PAGE_LINES} lines at a time so that
+     * memory usage does not depend on the size of the output.
+     */
+    void getAndPrintRundeckLogsForExecution(RundeckManager rundeckClientManager, Run<?, ?> build, TaskListener listener, String executionId) throws IOException {
+        PrintStream logger = listener.getLogger();
+        logger.println("BEGIN RUNDECK LOG OUTPUT");
+        copyRundeckOutput(build, logger, executionId, handler -> readRundeckOutput(rundeckClientManager, executionId, handler));
+        logger.println("END RUNDECK LOG OUTPUT");
+    }
+
+    /**
+     * Hand the entries read from the source to the per-node logs, the compressed output or the build log.
+     */
+    private void copyRundeckOutput(Run<?, ?> build, PrintStream logger, String executionId, ExecLogSource source) throws IOException {
+        if (logPerNode && build != null) {
+            try (RundeckNodeLogs nodeLogs = createNodeLogs(build, executionId)) {
+                source.read(entry -> {
+                    nodeLogs.write(entry);
+                    return true;
+                });
+                nodeLogs.printSummary(logger);
+            }
+        } else if (compressLog && build != null) {
+            try (RundeckCompressedOutput output = createCompressedOutput(build, executionId)) {
+                source.read(entry -> {
+                    output.write(entry);
+                    return true;
+                });
+                output.printExcerpt(logger);
+            }
+        } else {
+            printRundeckOutput(logger, build != null ? build.getCharset() : Charset.defaultCharset(), source);
+        }
+    }
+
+    private void printRundeckOutput(PrintStream logger, Charset charset, ExecLogSource source) throws IOException {
+        ExecLogFormatter formatter = createLogFormatter(logger, charset);
+        long maxLogSizeInBytes = maxLogSizeInKilobytes * 1024L;
+        long[] printedBytes = {0};
+        boolean[] truncated = {false};
+        source.read(entry -> {
+            if (truncated[0]) {
+                return false;
+            }
+            if (maxLogSizeInBytes > 0 && printedBytes[0] >= maxLogSizeInBytes) {
+                logger.printf("... Rundeck output truncated after %d KB, see the full output on Rundeck%n", maxLogSizeInKilobytes);
+                truncated[0] = true;
+                return false;
+            }
+            printedBytes[0] += formatter.print(entry);
+            return true;
+        });
+    }
+
+    /**
+     * Receives the Rundeck log entries read by {@link #readRundeckOutput} or by the log tail.
+     */
+    private interface ExecLogHandler {
+        /**
+         * @return false to stop reading
+         */
+        boolean handle(ExecLog entry) throws IOException;
+    }
+
+    /**
+     * Reads Rundeck log entries, page by page.
+     */
+    private interface ExecLogSource {
+        void read(ExecLogHandler handler) throws IOException;
+    }
+
+    /**
+     * Hand one page of entries to the handler.
+     *
+     * @return false if the handler stopped reading
+     */
+    private static boolean handlePage(List<ExecLog> entries, ExecLogHandler handler) throws IOException {
+        for (ExecLog entry : entries) {
+            if (!handler.handle(entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        ExecOutput rundeckOutput = rundeckClientManager.getOutput(executionId, 0L, 0L, 0L);
-        if (null != rundeckOutput) {
+    private void readRundeckOutput(RundeckManager rundeckClientManager, String executionId, ExecLogHandler handler) throws IOException {
+        long offset = 0;
+        while (true) {
+            ExecOutput rundeckOutput = rundeckClientManager.getOutput(executionId, offset, 0L, (long) LOG_PAGE_LINES);
+            if (null == rundeckOutput) {
+                break;
+            }
             List<ExecLog> logEntries = rundeckOutput.entries;
-            if (null != logEntries) {
-                for (ExecLog rundeckOutputEntry : logEntries) {
-                    listener.getLogger().println("["+ rundeckOutputEntry.node + "] " + "[" + rundeckOutputEntry.time + "] [" + rundeckOutputEntry.level + "] " + rundeckOutputEntry.log);
+            if (null != logEntries && !handlePage(logEntries, handler)) {
+                return;
+            }
 
-                }
+            long nextOffset = rundeckOutput.offset;
+            boolean emptyPage = null == logEntries || logEntries.isEmpty();
+            if (Boolean.TRUE.equals(rundeckOutput.completed) || (emptyPage && nextOffset == offset)) {
+                break;
             }
+            offset = nextOffset;
+        }
+    }
+
+    /**
+     * Create the per-node logs of the execution and add the build action listing them.
+     */
+    private RundeckNodeLogs createNodeLogs(Run<?, ?> build, String executionId) throws IOException {
+        if (build.getAction(RundeckNodeLogsAction.class) == null) {
+            build.addAction(new RundeckNodeLogsAction());
+        }
+        return new RundeckNodeLogs(build, executionId, logFormat, build.getCharset());
+    }
+
+    /**
+     * Create the compressed output file of the execution and add the build action listing these files.
+     */
+    private RundeckCompressedOutput createCompressedOutput(Run<?, ?> build, String executionId) throws IOException {
+        if (build.getAction(RundeckCompressedOutputAction.class) == null) {
+            build.addAction(new RundeckCompressedOutputAction());
+        }
+        return new RundeckCompressedOutput(build, executionId, logFormat, build.getCharset());
+    }
+
+    /**
+     * @param charset encoding of the build log, see {@link Run#getCharset()}
+     * @return a formatter printing Rundeck log entries to the given stream with the configured line format
+     */
+    ExecLogFormatter createLogFormatter(PrintStream printStream, Charset charset) {
+        return new ExecLogFormatter(printStream, logFormat, charset);
+    }
+
+    /**
+     * Create the strategy used to poll the given execution, as selected for this notifier or globally.
+     */
+    PollingStrategy createPollingStrategy(Execution execution) {
+        return getPollingStrategyType().create(getAverageDurationInMillis(execution));
+    }
+
+    PollingStrategyType getPollingStrategyType() {
+        PollingStrategyType type = PollingStrategyType.fromName(pollingStrategy);
+        return type != null ? type : getDescriptor().getDefaultPollingStrategyType();
+    }
+
+    static Long getAverageDurationInMillis(Execution execution) {
+        if (execution == null || execution.getJob() == null) {
+            return null;
         }
-        listener.getLogger().println("END RUNDECK LOG OUTPUT");
+        Number averageDuration = execution.getJob().getAverageDuration();
+        return averageDuration != null ? averageDuration.longValue() : null;
     }
 
     @Override
@@ -502,6 +882,69 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
         return tailLog;
     }
 
+    public String getPollingStrategy() {
+        return pollingStrategy;
+    }
+
+    @DataBoundSetter
+    public void setPollingStrategy(String pollingStrategy) {
+        this.pollingStrategy = Util.fixEmptyAndTrim(pollingStrategy);
+    }
+
+    public boolean isLogPerNode() {
+        return logPerNode;
+    }
+
+    @DataBoundSetter
+    public void setLogPerNode(boolean logPerNode) {
+        this.logPerNode = logPerNode;
+    }
+
+    public List<RundeckJobLaunch> getAdditionalJobs() {
+        return additionalJobs != null ? additionalJobs : Collections.<RundeckJobLaunch>emptyList();
+    }
+
+    @DataBoundSetter
+    public void setAdditionalJobs(List<RundeckJobLaunch> additionalJobs) {
+        this.additionalJobs = additionalJobs == null || additionalJobs.isEmpty() ? null : new ArrayList<>(additionalJobs);
+    }
+
+    public boolean isCompressLog() {
+        return compressLog;
+    }
+
+    @DataBoundSetter
+    public void setCompressLog(boolean compressLog) {
+        this.compressLog = compressLog;
+    }
+
+    public String getLogFormat() {
+        return logFormat;
+    }
+
+    @DataBoundSetter
+    public void setLogFormat(String logFormat) {
+        this.logFormat = Util.fixEmptyAndTrim(logFormat);
+    }
+
+    public int getMaxLogSizeInKilobytes() {
+        return maxLogSizeInKilobytes;
+    }
+
+    @DataBoundSetter
+    public void setMaxLogSizeInKilobytes(int maxLogSizeInKilobytes) {
+        this.maxLogSizeInKilobytes = Math.max(0, maxLogSizeInKilobytes);
+    }
+
+    public int getTailLogPageSizeInKilobytes() {
+        return tailLogPageSizeInKilobytes;
+    }
+
+    @DataBoundSetter
+    public void setTailLogPageSizeInKilobytes(int tailLogPageSizeInKilobytes) {
+        this.tailLogPageSizeInKilobytes = Math.max(0, tailLogPageSizeInKilobytes);
+    }
+
     /**
      * optional non default rundeck user for actual job
      */
@@ -546,12 +989,20 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
 
         private volatile CopyOnWriteList<RundeckInstance> rundeckInstances = new CopyOnWriteList<RundeckInstance>();
 
+        /** Instances by normalized URL, built on first use, see {@link #getRundeckInstanceForUrl(String)} */
+        private volatile transient Map<String, RundeckInstance> rundeckInstancesByUrl;
+
         private volatile transient RundeckJobCache rundeckJobCache = new DummyRundeckJobCache();
 
         private volatile RundeckJobCacheConfig rundeckJobCacheConfig = RundeckJobCacheConfig.initializeWithDefaultValues();
 
         private volatile transient RundeckInstanceBuilder rundeckBuilder = new RundeckInstanceBuilder();
 
+        private volatile String defaultPollingStrategy;
+
+        /** Capacity of the queue of webhook notifications processed asynchronously, 0 to process them synchronously */
+        private volatile int webhookQueueSize;
+
         public RundeckDescriptor() {
             super();
             load();
@@ -559,7 +1010,9 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
 
         public synchronized void load() {
             super.load();
+            rundeckInstancesByUrl = null;
             initializeRundeckJobCache();
+            schedulePreloadOfRundeckJobCache();
         }
 
         // public RundeckInstanceBuilder getRundeckBuilder() {
@@ -570,15 +1023,81 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
             this.rundeckBuilder = rundeckBuilder;
         }
 
-        private void initializeRundeckJobCache() {
+        private synchronized void initializeRundeckJobCache() {
+            RundeckJobCache previousCache = rundeckJobCache;
             if (rundeckJobCacheConfig.isEnabled()) {
                 log.info("Rundeck job cache enabled. Using following configuration: " + rundeckJobCacheConfig);
-                rundeckJobCache = new InMemoryRundeckJobCache(rundeckJobCacheConfig);
+                if (rundeckJobCache instanceof InMemoryRundeckJobCache) {
+                    // keep the warm entries: reconfigure in place when possible, copy them otherwise
+                    InMemoryRundeckJobCache currentCache = (InMemoryRundeckJobCache) rundeckJobCache;
+                    boolean samePersistence = (currentCache instanceof PersistentRundeckJobCache) == rundeckJobCacheConfig.isPersistent();
+                    if (!samePersistence || !currentCache.reconfigure(rundeckJobCacheConfig)) {
+                        rundeckJobCache = rundeckJobCacheConfig.isPersistent()
+                                ? new PersistentRundeckJobCache(rundeckJobCacheConfig, getPersistentJobCacheFile(), currentCache)
+                                : new InMemoryRundeckJobCache(rundeckJobCacheConfig, currentCache);
+                    }
+                } else if (rundeckJobCacheConfig.isPersistent()) {
+                    rundeckJobCache = new PersistentRundeckJobCache(rundeckJobCacheConfig, getPersistentJobCacheFile());
+                } else {
+                    rundeckJobCache = new InMemoryRundeckJobCache(rundeckJobCacheConfig);
+                }
             } else {
                 log.info("Rundeck job cache DISABLED.");
                 rundeckJobCache.invalidate();
                 rundeckJobCache = new DummyRundeckJobCache();
             }
+            if (previousCache instanceof PersistentRundeckJobCache && previousCache != rundeckJobCache) {
+                // the replaced cache must not overwrite the file of its successor with a late save
+                ((PersistentRundeckJobCache) previousCache).close();
+                if (!(rundeckJobCache instanceof PersistentRundeckJobCache)) {
+                    File cacheFile = getPersistentJobCacheFile();
+                    if (cacheFile.exists() && !cacheFile.delete()) {
+                        log.warning("Unable to delete Rundeck job cache file " + cacheFile);
+                    }
+                }
+            }
+        }
+
+        private static File getPersistentJobCacheFile() {
+            return new File(Jenkins.get().getRootDir(), PersistentRundeckJobCache.CACHE_FILE_NAME);
+        }
+
+        private void schedulePreloadOfRundeckJobCache() {
+            if (!rundeckJobCacheConfig.isEnabled()) {
+                return;
+            }
+            for (RundeckInstance instance : rundeckInstances) {
+                if (!instance.getPreloadProjectList().isEmpty()) {
+                    jenkins.util.Timer.get().submit(this::preloadRundeckJobCache);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Load in the job cache all the jobs of the projects configured for preloading on each Rundeck instance,
+         * one API call per project instead of one per job on first use.
+         */
+        public void preloadRundeckJobCache() {
+            RundeckJobCache cache = rundeckJobCache;
+            for (RundeckInstance instance : rundeckInstances) {
+                List<String> projects = instance.getPreloadProjectList();
+                if (projects.isEmpty()) {
+                    continue;
+                }
+                RundeckManager client = getRundeckJobInstance(instance.getName(), null, null, null);
+                if (client == null) {
+                    continue;
+                }
+                for (String project : projects) {
+                    try {
+                        cache.preloadProject(project, instance.getName(), client);
+                    } catch (IOException | RuntimeException e) {
+                        log.warning(format("Unable to preload jobs of project %s from Rundeck instance %s: %s",
+                                project, instance.getName(), e.getMessage()));
+                    }
+                }
+            }
         }
 
         // support backward compatibility
@@ -610,19 +1129,26 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
             newInstances.replaceBy(req.bindJSONToList(RundeckInstance.class, json.get("rundeckInstances")));
             this.setRundeckInstances(newInstances.toArray(new RundeckInstance[0]));
             configureRundeckJobCache(json);
+            setDefaultPollingStrategy(json.optString("defaultPollingStrategy", null));
+            setWebhookQueueSize(json.optInt("webhookQueueSize", 0));
+            // URLs or credentials may have changed, shared clients must be rebuilt
+            RundeckClientRegistry.getInstance().invalidateAll();
+            RundeckInstanceHealth.getInstance().invalidateAll();
 
             save();
+            schedulePreloadOfRundeckJobCache();
             return super.configure(req, json);
         }
 
         private void configureRundeckJobCache(JSONObject json) {
             boolean cacheEnabledAsBoolean = json.has("rundeckJobCacheEnabled");
-            if (cacheEnabledAsBoolean == rundeckJobCacheConfig.isEnabled()) {   //nothing changed
+            if (!cacheEnabledAsBoolean && !rundeckJobCacheConfig.isEnabled()) {   //nothing changed
                 return;
             }
 
-            rundeckJobCacheConfig.setEnabled(cacheEnabledAsBoolean);
-            initializeRundeckJobCache();
+            RundeckJobCacheConfig newConfig = RundeckJobCacheConfig.fromForm(cacheEnabledAsBoolean,
+                    json.optJSONObject("rundeckJobCacheEnabled"), rundeckJobCacheConfig);
+            setRundeckJobCacheConfig(newConfig);
         }
 
         @Override
@@ -652,7 +1178,7 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
                     throw new FormException("Could not find a job with the identifier : " + jobIdentifier, "jobIdentifier");
                 }
             }
-            return new RundeckNotifier(rundeckInstance,
+            RundeckNotifier notifier = new RundeckNotifier(rundeckInstance,
                     jobIdentifier,
                     formData.getString("options"),
                     formData.getString("nodeFilters"),
@@ -665,6 +1191,14 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
                     jobUser,
                     Secret.fromString(jobPassword),
                     Secret.fromString(jobToken));
+            notifier.setPollingStrategy(formData.optString("pollingStrategy", null));
+            notifier.setTailLogPageSizeInKilobytes(formData.optInt("tailLogPageSizeInKilobytes", 0));
+            notifier.setMaxLogSizeInKilobytes(formData.optInt("maxLogSizeInKilobytes", 0));
+            notifier.setLogFormat(formData.optString("logFormat", null));
+            notifier.setLogPerNode(formData.optBoolean("logPerNode", false));
+            notifier.setCompressLog(formData.optBoolean("compressLog", false));
+            notifier.setAdditionalJobs(req.bindJSONToList(RundeckJobLaunch.class, formData.opt("additionalJobs")));
+            return notifier;
         }
 
         @SuppressWarnings("unused")
@@ -762,22 +1296,24 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
         /**
          * Return a rundeck Job ID, by find a rundeck job if the identifier is a project:[group/]*name format, otherwise
          * returning the original identifier as the ID.
+         * The reference lookup goes through the job cache, so it only hits Rundeck on a cache miss.
          * @param jobIdentifier either a Job ID, or "project:[group/]*name"
+         * @param rundeckInstanceName Rundeck instance name
          * @param rundeckClient the client instance
          * @return a job UUID
          * @throws IOException
          */
-        static String findJobId(String jobIdentifier, RundeckManager rundeckClient) throws IOException,
+        static String findJobId(String jobIdentifier, String rundeckInstanceName, RundeckManager rundeckClient) throws IOException,
                 IllegalArgumentException {
             log.fine(format("findJobId request for jobId: %s", jobIdentifier));
-            //TODO: Could be rewritten to be cache as well, if needed
             Matcher matcher = JOB_REFERENCE_PATTERN.matcher(jobIdentifier);
             if (matcher.find() && matcher.groupCount() == 3) {
                 String project = matcher.group(1);
                 String groupPath = matcher.group(2);
                 String name = matcher.group(3);
 
-                return rundeckClient.findJobId(project,name , groupPath);
+                RundeckJobCache rundeckJobCache = getRundeckDescriptor().rundeckJobCache;
+                return rundeckJobCache.findJobIdByReference(project, groupPath, name, rundeckInstanceName, rundeckClient);
             } else {
                 return jobIdentifier;
             }
@@ -804,25 +1340,32 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
                 log.fine(format("findJobUncached request for jobId: %s (cache disabled)", jobIdentifier));
             }
 
-            JobItem job = null;
+            try {
+                return lookupJob(jobIdentifier, rundeckClient);
+            } catch (Exception e) {
+                log.warning(e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Find a {@link JobItem} on Rundeck, without any cache.
+         *
+         * @param jobIdentifier either a simple ID, an UUID or a reference (project:group/name)
+         * @param rundeckClient Rundeck client instance
+         * @return the {@link JobItem} found, or null if Rundeck does not know the job
+         * @throws IOException if Rundeck could not be asked
+         */
+        public static JobItem lookupJob(String jobIdentifier, RundeckManager rundeckClient) throws IOException {
             Matcher matcher = JOB_REFERENCE_PATTERN.matcher(jobIdentifier);
             if (matcher.find() && matcher.groupCount() == 3) {
                 String project = matcher.group(1);
                 String groupPath = matcher.group(2);
                 String name = matcher.group(3);
-                try{
-                    job = rundeckClient.findJob(project, groupPath, name);
-                }catch (Exception e){
-                    log.warning(e.getMessage());
-                }
+                return rundeckClient.findJob(project, groupPath, name);
             } else {
-                try{
-                    job = rundeckClient.getJob(jobIdentifier);
-                }catch (Exception e){
-                    log.warning(e.getMessage());
-                }
+                return rundeckClient.getJob(jobIdentifier);
             }
-            return job;
         }
 
         @Override
@@ -885,6 +1428,7 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
                 // create new instance with given user and password and URL from global instance
                 RundeckInstance newInstance = new RundeckInstance();
                 String url = client.getRundeckInstance().getUrl();
+                newInstance.setName(instance.getName());
                 newInstance.setUrl(url);
                 newInstance.setLogin(jobUser);
                 newInstance.setPassword(Secret.fromString(jobPassword));
@@ -897,6 +1441,7 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
                 // create new instance with given user and password and URL from global instance
                 RundeckInstance newInstance = new RundeckInstance();
                 String url = client.getRundeckInstance().getUrl();
+                newInstance.setName(instance.getName());
                 newInstance.setUrl(url);
                 newInstance.setToken(Secret.fromString(jobToken));
                 newInstance.setApiVersion(apiVersion);
@@ -908,6 +1453,7 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
         
         public void addRundeckInstance(RundeckInstance instance) {
             rundeckInstances.add(instance);
+            rundeckInstancesByUrl = null;
         }
 
         public RundeckInstance[] getRundeckInstances() {
@@ -916,11 +1462,111 @@ public class RundeckNotifier extends Notifier implements SimpleBuildStep {
 
         public void setRundeckInstances(RundeckInstance[] instances) {
             rundeckInstances.replaceBy(instances);
+            rundeckInstancesByUrl = null;
+        }
+
+        /**
+         * Find the instance serving the given URL, e.g. the link of an execution : the instance with the longest URL
+         * which is a prefix of the given one. Each prefix of the URL path is looked up in an index of the instances.
+         *
+         * @return the instance, or null if the URL does not belong to any instance
+         */
+        public RundeckInstance getRundeckInstanceForUrl(String url) {
+            if (url == null) {
+                return null;
+            }
+            Map<String, RundeckInstance> index = rundeckInstancesByUrl;
+            if (index == null) {
+                index = new HashMap<>();
+                for (RundeckInstance instance : rundeckInstances) {
+                    if (instance.getUrl() != null) {
+                        index.put(normalizeUrl(instance.getUrl()), instance);
+                    }
+                }
+                rundeckInstancesByUrl = index;
+            }
+            String prefix = normalizeUrl(url);
+            int hostStart = prefix.indexOf("://") + 3;
+            while (true) {
+                RundeckInstance instance = index.get(prefix);
+                if (instance != null) {
+                    return instance;
+                }
+                int slash = prefix.lastIndexOf('/');
+                if (slash < hostStart) {
+                    return null;
+                }
+                prefix = prefix.substring(0, slash);
+            }
+        }
+
+        static String normalizeUrl(String url) {
+            String normalized = url.trim().toLowerCase(Locale.ENGLISH);
+            while (normalized.endsWith("/")) {
+                normalized = normalized.substring(0, normalized.length() - 1);
+            }
+            return normalized;
         }
 
         public RundeckJobCacheConfig getRundeckJobCacheConfig() {
             return rundeckJobCacheConfig;
         }
+
+        /**
+         * @return a snapshot of the job cache statistics, empty when the cache is disabled
+         */
+        public List<RundeckJobCacheStats> getRundeckJobCacheStats() {
+            return rundeckJobCache.getStats();
+        }
+
+        /**
+         * Replace the job cache configuration (global configuration form or configuration as code). The current
+         * cache is resized in place or rebuilt, keeping its entries.
+         */
+        public void setRundeckJobCacheConfig(RundeckJobCacheConfig rundeckJobCacheConfig) {
+            this.rundeckJobCacheConfig = rundeckJobCacheConfig != null ? rundeckJobCacheConfig : RundeckJobCacheConfig.initializeWithDefaultValues();
+            initializeRundeckJobCache();
+        }
+
+        public String getDefaultPollingStrategy() {
+            return getDefaultPollingStrategyType().name();
+        }
+
+        public void setDefaultPollingStrategy(String defaultPollingStrategy) {
+            this.defaultPollingStrategy = Util.fixEmptyAndTrim(defaultPollingStrategy);
+        }
+
+        public int getWebhookQueueSize() {
+            return webhookQueueSize;
+        }
+
+        public void setWebhookQueueSize(int webhookQueueSize) {
+            this.webhookQueueSize = Math.max(0, webhookQueueSize);
+        }
+
+        public PollingStrategyType getDefaultPollingStrategyType() {
+            PollingStrategyType type = PollingStrategyType.fromName(defaultPollingStrategy);
+            return type != null ? type : PollingStrategyType.FIXED;
+        }
+
+        @SuppressWarnings("unused")
+        public ListBoxModel doFillPollingStrategyItems() {
+            ListBoxModel items = new ListBoxModel();
+            items.add("Global default (" + getDefaultPollingStrategyType().getDisplayName() + ")", "");
+            for (PollingStrategyType type : PollingStrategyType.values()) {
+                items.add(type.getDisplayName(), type.name());
+            }
+            return items;
+        }
+
+        @SuppressWarnings("unused")
+        public ListBoxModel doFillDefaultPollingStrategyItems() {
+            ListBoxModel items = new ListBoxModel();
+            for (PollingStrategyType type : PollingStrategyType.values()) {
+                items.add(type.getDisplayName(), type.name());
+            }
+            return items;
+        }
     }
 
     /**
@@ -22,6 +22,14 @@ public class  RundeckPlugin extends Plugin {
         webHookListener = new WebHookListener();
     }
 
+    @Override
+    public void stop() throws Exception {
+        if (webHookListener != null) {
+            webHookListener.shutdown();
+        }
+        super.stop();
+    }
+
     public OptionProvider getOptions() {
         return optionProvider;
     }
@@ -0,0 +1,199 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.ListBoxModel;
+import hudson.util.Secret;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Pipeline step that runs a job on Rundeck and waits for it to finish without holding an executor : the execution
+ * is started with the same logic as the {@link RundeckNotifier}, then handed over to the
+ * {@link RundeckExecutionWatcher} which resumes the step once the execution is over.
+ */
+public class RundeckStep extends Step {
+
+    private final String rundeckInstance;
+
+    private final String jobId;
+
+    private String options;
+
+    private String nodeFilters;
+
+    private boolean shouldFailTheBuild = true;
+
+    private boolean includeRundeckLogs;
+
+    private String jobUser;
+
+    private Secret jobPassword;
+
+    private Secret jobToken;
+
+    private String pollingStrategy;
+
+    private boolean logPerNode;
+
+    private boolean compressLog;
+
+    @DataBoundConstructor
+    public RundeckStep(String rundeckInstance, String jobId) {
+        this.rundeckInstance = rundeckInstance;
+        this.jobId = jobId;
+    }
+
+    @Override
+    public StepExecution start(StepContext context) throws Exception {
+        return new RundeckStepExecution(this, context);
+    }
+
+    public String getRundeckInstance() {
+        return rundeckInstance != null ? rundeckInstance : "Default";
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getOptions() {
+        return options;
+    }
+
+    @DataBoundSetter
+    public void setOptions(String options) {
+        this.options = options;
+    }
+
+    public String getNodeFilters() {
+        return nodeFilters;
+    }
+
+    @DataBoundSetter
+    public void setNodeFilters(String nodeFilters) {
+        this.nodeFilters = nodeFilters;
+    }
+
+    public boolean isShouldFailTheBuild() {
+        return shouldFailTheBuild;
+    }
+
+    @DataBoundSetter
+    public void setShouldFailTheBuild(boolean shouldFailTheBuild) {
+        this.shouldFailTheBuild = shouldFailTheBuild;
+    }
+
+    public boolean isIncludeRundeckLogs() {
+        return includeRundeckLogs;
+    }
+
+    @DataBoundSetter
+    public void setIncludeRundeckLogs(boolean includeRundeckLogs) {
+        this.includeRundeckLogs = includeRundeckLogs;
+    }
+
+    public String getJobUser() {
+        return jobUser;
+    }
+
+    @DataBoundSetter
+    public void setJobUser(String jobUser) {
+        this.jobUser = jobUser;
+    }
+
+    public Secret getJobPassword() {
+        return jobPassword;
+    }
+
+    @DataBoundSetter
+    public void setJobPassword(Secret jobPassword) {
+        this.jobPassword = jobPassword;
+    }
+
+    public Secret getJobToken() {
+        return jobToken;
+    }
+
+    @DataBoundSetter
+    public void setJobToken(Secret jobToken) {
+        this.jobToken = jobToken;
+    }
+
+    public String getPollingStrategy() {
+        return pollingStrategy;
+    }
+
+    @DataBoundSetter
+    public void setPollingStrategy(String pollingStrategy) {
+        this.pollingStrategy = pollingStrategy;
+    }
+
+    public boolean isLogPerNode() {
+        return logPerNode;
+    }
+
+    @DataBoundSetter
+    public void setLogPerNode(boolean logPerNode) {
+        this.logPerNode = logPerNode;
+    }
+
+    public boolean isCompressLog() {
+        return compressLog;
+    }
+
+    @DataBoundSetter
+    public void setCompressLog(boolean compressLog) {
+        this.compressLog = compressLog;
+    }
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Collections.unmodifiableSet(new HashSet<Class<?>>(Arrays.asList(Run.class, TaskListener.class)));
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "rundeck";
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Run a Rundeck job and wait for it to finish";
+        }
+
+        /**
+         * The fields shared with the {@link RundeckNotifier} use its help files.
+         */
+        @Override
+        public String getHelpFile(String fieldName) {
+            if ("pollingStrategy".equals(fieldName)) {
+                return getNotifierDescriptor().getHelpFile(fieldName);
+            }
+            return super.getHelpFile(fieldName);
+        }
+
+        @SuppressWarnings("unused")
+        public ListBoxModel doFillPollingStrategyItems() {
+            return getNotifierDescriptor().doFillPollingStrategyItems();
+        }
+
+        private static RundeckNotifier.RundeckDescriptor getNotifierDescriptor() {
+            return Jenkins.get().getDescriptorByType(RundeckNotifier.RundeckDescriptor.class);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.AbortException;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.Secret;
+import org.jenkinsci.plugins.rundeck.client.RundeckClientManager;
+import org.jenkinsci.plugins.rundeck.client.RundeckManager;
+import org.jenkinsci.plugins.rundeck.polling.PollingStrategy;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.rundeck.client.api.model.AbortResult;
+import org.rundeck.client.api.model.Execution;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Non-blocking execution of the {@link RundeckStep} : the Rundeck execution is started on the
+ * {@link RundeckExecutors#launcher()} pool, registered with the {@link RundeckExecutionWatcher}, and the step
+ * completes when the watcher reports a terminal {@link RundeckClientManager.ExecutionStatus}.
+ */
+public class RundeckStepExecution extends StepExecution {
+
+    private static final long serialVersionUID = 2L;
+
+    private static final Logger log = Logger.getLogger(RundeckStepExecution.class.getName());
+
+    private transient RundeckNotifier notifier;
+
+    /** Start of the execution, while it is in progress */
+    private transient volatile Future<?> starting;
+
+    private transient volatile boolean stopped;
+
+    private final String rundeckInstance;
+
+    private final String jobId;
+
+    private final String options;
+
+    private final String nodeFilters;
+
+    private final String jobUser;
+
+    private final Secret jobPassword;
+
+    private final Secret jobToken;
+
+    private final boolean shouldFailTheBuild;
+
+    private final boolean includeRundeckLogs;
+
+    private final String pollingStrategy;
+
+    private final boolean logPerNode;
+
+    private final boolean compressLog;
+
+    private final String watchId = UUID.randomUUID().toString();
+
+    private volatile String executionId;
+
+    private String project;
+
+    private Long averageDurationInMillis;
+
+    RundeckStepExecution(RundeckStep step, StepContext context) {
+        super(context);
+        this.rundeckInstance = step.getRundeckInstance();
+        this.jobId = step.getJobId();
+        this.options = step.getOptions();
+        this.nodeFilters = step.getNodeFilters();
+        this.jobUser = step.getJobUser();
+        this.jobPassword = step.getJobPassword();
+        this.jobToken = step.getJobToken();
+        this.shouldFailTheBuild = step.isShouldFailTheBuild();
+        this.includeRundeckLogs = step.isIncludeRundeckLogs();
+        this.pollingStrategy = step.getPollingStrategy();
+        this.logPerNode = step.isLogPerNode();
+        this.compressLog = step.isCompressLog();
+    }
+
+    /**
+     * The notifier is not serializable : it is built from the settings of the step, the same way before and after a
+     * restart.
+     */
+    private RundeckNotifier getNotifier() {
+        if (notifier == null) {
+            RundeckNotifier rundeckNotifier = new RundeckNotifier(rundeckInstance, jobId, options, nodeFilters, null,
+                    false, shouldFailTheBuild, true, includeRundeckLogs, false, jobUser, jobPassword, jobToken);
+            rundeckNotifier.readResolve();
+            rundeckNotifier.setPollingStrategy(pollingStrategy);
+            rundeckNotifier.setLogPerNode(logPerNode);
+            rundeckNotifier.setCompressLog(compressLog);
+            notifier = rundeckNotifier;
+        }
+        return notifier;
+    }
+
+    /**
+     * Start the Rundeck execution in the background : the calls to Rundeck must not block the CPS VM thread.
+     */
+    @Override
+    public boolean start() throws Exception {
+        Run<?, ?> run = getContext().get(Run.class);
+        TaskListener listener = getContext().get(TaskListener.class);
+        starting = RundeckExecutors.launcher().submit(() -> startAndWatch(run, listener));
+        return false;
+    }
+
+    private void startAndWatch(Run<?, ?> run, TaskListener listener) {
+        try {
+            Execution execution = getNotifier().startExecution(run, listener);
+            if (execution == null) {
+                getContext().onSuccess(null);
+                return;
+            }
+            project = execution.getProject();
+            averageDurationInMillis = RundeckNotifier.getAverageDurationInMillis(execution);
+            executionId = execution.getId();
+            if (stopped) {
+                // the step was stopped while the execution was being started
+                abort(listener);
+                return;
+            }
+            getContext().saveState();
+            listener.getLogger().println("Waiting for Rundeck execution to finish...");
+            watch();
+        } catch (IOException | RuntimeException e) {
+            getContext().onFailure(e);
+        } finally {
+            starting = null;
+        }
+    }
+
+    @Override
+    public void onResume() {
+        if (executionId == null) {
+            getContext().onFailure(new AbortException("Jenkins was restarted while the Rundeck execution was being started"));
+            return;
+        }
+        watch();
+    }
+
+    @Override
+    public void stop(@Nonnull Throwable cause) throws Exception {
+        stopped = true;
+        Future<?> start = starting;
+        if (start != null) {
+            // not interrupted : an execution created by a call in progress is aborted by startAndWatch once it returns
+            start.cancel(false);
+        }
+        RundeckExecutionWatcher.get().unwatch(watchId);
+        if (executionId != null) {
+            TaskListener listener = getContext().get(TaskListener.class);
+            RundeckExecutors.launcher().submit(() -> abort(listener));
+        }
+        getContext().onFailure(cause);
+    }
+
+    private void abort(TaskListener listener) {
+        try {
+            listener.getLogger().println("Trying to abort Rundeck execution #" + executionId + "...");
+            AbortResult rundeckAbort = getNotifier().getRundeckManager().abortExecution(executionId);
+            listener.getLogger().printf("Abort status: %s%n", rundeckAbort.abort.status);
+        } catch (Exception e) {
+            log.log(Level.WARNING, "Unable to abort Rundeck execution #" + executionId, e);
+        }
+    }
+
+    @Override
+    public String getStatus() {
+        return executionId == null ? "starting Rundeck execution" : "waiting for Rundeck execution #" + executionId;
+    }
+
+    private void watch() {
+        RundeckManager rundeckClient = getNotifier().getRundeckManager();
+        if (rundeckClient == null) {
+            getContext().onFailure(new AbortException("Rundeck configuration is not valid !"));
+            return;
+        }
+        PollingStrategy strategy = getNotifier().getPollingStrategyType().create(averageDurationInMillis);
+        RundeckExecutionWatcher.get().watch(watchId, rundeckClient, project, executionId, strategy, new RundeckExecutionWatcher.Callback() {
+            @Override
+            public void onFinished(Execution execution) {
+                // logs retrieval and result handling may be slow, keep them off the watcher thread
+                RundeckExecutors.launcher().submit(() -> complete(rundeckClient, execution));
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+                getContext().onFailure(cause);
+            }
+        });
+    }
+
+    private void complete(RundeckManager rundeckClient, Execution execution) {
+        try {
+            TaskListener listener = getContext().get(TaskListener.class);
+            getNotifier().logExecutionStatus(listener, execution, "finished");
+            if (includeRundeckLogs) {
+                getNotifier().getAndPrintRundeckLogsForExecution(rundeckClient, getContext().get(Run.class), listener, execution.getId());
+            }
+
+            if (RundeckClientManager.ExecutionStatus.SUCCEEDED.toString().equals(execution.getStatus())) {
+                getContext().onSuccess(execution.getStatus());
+            } else if (shouldFailTheBuild) {
+                getContext().onFailure(new AbortException("Rundeck execution #" + execution.getId()
+                        + " finished with status : " + execution.getStatus()));
+            } else {
+                getContext().onSuccess(execution.getStatus());
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            getContext().onFailure(e);
+        }
+    }
+}
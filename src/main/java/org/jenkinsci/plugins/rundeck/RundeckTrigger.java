@@ -1,23 +1,30 @@
 package org.jenkinsci.plugins.rundeck;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import hudson.Extension;
 import hudson.model.Item;
 import hudson.model.AbstractProject;
 import hudson.triggers.Trigger;
 import hudson.triggers.TriggerDescriptor;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import hudson.util.ListBoxModel;
 import hudson.util.Secret;
+import jenkins.model.Jenkins;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.plugins.rundeck.client.ExecutionData;
-import org.jenkinsci.plugins.rundeck.client.RundeckClientManager;
+import org.jenkinsci.plugins.rundeck.client.RundeckManager;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.StaplerRequest;
 import org.rundeck.client.api.model.Execution;
@@ -30,6 +37,14 @@ import org.rundeck.client.api.model.JobItem;
  */
 public class RundeckTrigger extends Trigger<AbstractProject<?, ?>> {
 
+    private static final int VALIDATION_EXPIRATION_IN_SECONDS = 30;
+
+    /** Recent outcomes of {@link #validateExecution}, shared by all the triggers */
+    private static final Cache<String, RundeckTriggerCheckResult> VALIDATIONS = Caffeine.newBuilder()
+            .expireAfterWrite(VALIDATION_EXPIRATION_IN_SECONDS, TimeUnit.SECONDS)
+            .maximumSize(1000)
+            .build();
+
     private final Boolean filterJobs;
 
     private final List<String> jobsIdentifiers;
@@ -48,6 +63,27 @@ public class RundeckTrigger extends Trigger<AbstractProject<?, ?>> {
 
     }
 
+    @Override
+    public void start(AbstractProject<?, ?> project, boolean newInstance) {
+        super.start(project, newInstance);
+        RundeckTriggerRegistry.get().register(project, this);
+    }
+
+    @Override
+    public void stop() {
+        if (job != null) {
+            RundeckTriggerRegistry.get().unregister(job, this);
+        }
+        super.stop();
+    }
+
+    /**
+     * @return the project of this trigger, null if the trigger has not been started
+     */
+    AbstractProject<?, ?> getProject() {
+        return job;
+    }
+
     /**
      * Called when we receive a Rundeck notification
      *
@@ -60,47 +96,69 @@ public class RundeckTrigger extends Trigger<AbstractProject<?, ?>> {
     }
 
     public RundeckTriggerCheckResult validateExecution(ExecutionData execution){
-        RundeckNotifier.RundeckDescriptor descriptor = new RundeckNotifier.RundeckDescriptor();
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        RundeckNotifier.RundeckDescriptor descriptor = jenkins != null ? jenkins.getDescriptorByType(RundeckNotifier.RundeckDescriptor.class) : null;
 
-        RundeckInstance rundeckSelectedInstance = null;
-        for(RundeckInstance rundeckInstance : descriptor.getRundeckInstances()) {
-           if(execution.getHref() != null && execution.getHref().toLowerCase().startsWith(rundeckInstance.getUrl().toLowerCase())){
-                rundeckSelectedInstance = rundeckInstance;
-            }
-        }
+        RundeckInstance rundeckSelectedInstance = descriptor != null ? descriptor.getRundeckInstanceForUrl(execution.getHref()) : null;
 
         if(rundeckSelectedInstance != null){
-            return validateRundeckExecution(rundeckSelectedInstance, execution);
+            return validateRundeckExecution(rundeckSelectedInstance, execution, RundeckInstanceBuilder::createClient);
         }
 
         return new RundeckTrigger.RundeckTriggerCheckResult("Rundeck instance not found", false);
     }
 
-    private RundeckTriggerCheckResult validateRundeckExecution(RundeckInstance rundeckInstance, ExecutionData executionData){
-
-        RundeckClientManager rundeck = RundeckInstanceBuilder.createClient(rundeckInstance);
-
+    /**
+     * Check the notified execution against Rundeck. The outcome is shared for a short time by all the triggers
+     * notified for the same execution, failures to talk to Rundeck are not kept.
+     */
+    static RundeckTriggerCheckResult validateRundeckExecution(RundeckInstance rundeckInstance, ExecutionData executionData,
+                                                             Function<RundeckInstance, ? extends RundeckManager> clientFactory){
         try {
-            Execution execution = rundeck.getExecution(executionData.getId());
-            if(execution!=null){
-
-                if(
-                   execution.getJob().getId().equals(executionData.getJob().getId()) &&
-                   execution.getDateStarted().unixtime == executionData.getDateStarted().unixtime
-                ){
-                    return new RundeckTriggerCheckResult("OK", true);
-                }else{
-                    return new RundeckTriggerCheckResult("Execution doesn't match with original values", false);
+            return VALIDATIONS.get(validationKeyOf(rundeckInstance, executionData), key -> {
+                try {
+                    return checkRundeckExecution(clientFactory.apply(rundeckInstance), executionData);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
+            });
+        } catch (UncheckedIOException e) {
+            return new RundeckTriggerCheckResult(e.getCause().getMessage(), false);
+        } catch (RuntimeException e) {
+            return new RundeckTriggerCheckResult(e.getMessage(), false);
+        }
+    }
+
+    private static RundeckTriggerCheckResult checkRundeckExecution(RundeckManager rundeck, ExecutionData executionData) throws IOException {
+
+        Execution execution = rundeck.getExecution(executionData.getId());
+        if(execution!=null){
 
+            if(
+               execution.getJob().getId().equals(executionData.getJob().getId()) &&
+               execution.getDateStarted().unixtime == executionData.getDateStarted().unixtime
+            ){
+                return new RundeckTriggerCheckResult("OK", true);
+            }else{
+                return new RundeckTriggerCheckResult("Execution doesn't match with original values", false);
             }
-        } catch (Exception e) {
-            return new RundeckTriggerCheckResult(e.getMessage(), false);
+
         }
 
         return new RundeckTriggerCheckResult("execution not found", false);
     }
 
+    /**
+     * The notified values which are checked are part of the key : a notification claiming other values is checked
+     * again.
+     */
+    static String validationKeyOf(RundeckInstance rundeckInstance, ExecutionData executionData) {
+        JobItem job = executionData.getJob();
+        return rundeckInstance.getName() + '|' + rundeckInstance.getUrl() + '|' + executionData.getId()
+                + '|' + (job != null ? job.getId() : null)
+                + '|' + (executionData.getDateStarted() != null ? executionData.getDateStarted().unixtime : null);
+    }
+
     /**
      * Filter notifications based on the {@link Execution} and the trigger configuration
      *
@@ -148,19 +206,25 @@ public class RundeckTrigger extends Trigger<AbstractProject<?, ?>> {
             return true;
         }
 
-        String fullname = job.getName();
-        if (job.getGroup() != null) {
-            fullname = job.getGroup()+"/"+job.getName();
-        }
         // "project:group/job" reference
-        String jobReference = job.getProject() + ":" + fullname;
-        if (StringUtils.equalsIgnoreCase(jobReference, jobIdentifier)) {
+        if (StringUtils.equalsIgnoreCase(jobReferenceOf(job), jobIdentifier)) {
             return true;
         }
 
         return false;
     }
 
+    /**
+     * @return the reference of the job, in the format "project:group/job"
+     */
+    static String jobReferenceOf(JobItem job) {
+        String fullname = job.getName();
+        if (job.getGroup() != null) {
+            fullname = job.getGroup()+"/"+job.getName();
+        }
+        return job.getProject() + ":" + fullname;
+    }
+
     public Boolean isTokenConfigured(){
         if(token!=null){
             return true;
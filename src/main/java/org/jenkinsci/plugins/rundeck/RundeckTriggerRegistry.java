@@ -0,0 +1,175 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AbstractProject;
+import hudson.model.Item;
+import hudson.model.listeners.ItemListener;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.rundeck.client.ExecutionData;
+import org.rundeck.client.api.model.JobItem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Index of the started {@link RundeckTrigger}s, so that a Rundeck notification only looks at the triggers which may
+ * match it instead of walking all the Jenkins items. Triggers are indexed by the job UUIDs and the
+ * "project:group/name" references they filter on, or by the hash of their token.
+ * <p>
+ * The index is maintained by {@link RundeckTrigger#start} and {@link RundeckTrigger#stop}, and checked against the
+ * items when they are all loaded or deleted. The candidates it returns still have to be checked with
+ * {@link RundeckTrigger#shouldScheduleBuild}.
+ */
+public class RundeckTriggerRegistry {
+
+    private static final Logger log = Logger.getLogger(RundeckTriggerRegistry.class.getName());
+
+    private static final RundeckTriggerRegistry INSTANCE = new RundeckTriggerRegistry();
+
+    private final Map<AbstractProject<?, ?>, RundeckTrigger> triggersByProject = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<RundeckTrigger>> triggersByJobId = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<RundeckTrigger>> triggersByJobReference = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<RundeckTrigger>> triggersByTokenHash = new ConcurrentHashMap<>();
+
+    RundeckTriggerRegistry() {
+    }
+
+    public static RundeckTriggerRegistry get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Index the trigger of the given project, replacing its previous trigger if any.
+     */
+    public synchronized void register(AbstractProject<?, ?> project, RundeckTrigger trigger) {
+        RundeckTrigger previous = triggersByProject.put(project, trigger);
+        if (previous != null) {
+            removeFromIndexes(previous);
+        }
+        if (Boolean.TRUE.equals(trigger.getFilterJobs())) {
+            for (String jobIdentifier : trigger.getJobsIdentifiers()) {
+                String key = normalize(jobIdentifier);
+                if (key.isEmpty()) {
+                    continue;
+                }
+                // a reference always contains the project separator, a UUID never does
+                Map<String, Set<RundeckTrigger>> index = key.indexOf(':') >= 0 ? triggersByJobReference : triggersByJobId;
+                index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(trigger);
+            }
+        } else if (trigger.getToken() != null) {
+            triggersByTokenHash.computeIfAbsent(hash(trigger.getToken().getPlainText()), k -> ConcurrentHashMap.newKeySet()).add(trigger);
+        }
+        log.fine(format("Rundeck trigger of %s registered", project.getFullName()));
+    }
+
+    /**
+     * Remove the trigger from the index, if it is still the registered trigger of its project.
+     */
+    public synchronized void unregister(AbstractProject<?, ?> project, RundeckTrigger trigger) {
+        if (triggersByProject.remove(project, trigger)) {
+            removeFromIndexes(trigger);
+        }
+    }
+
+    public synchronized void unregister(AbstractProject<?, ?> project) {
+        RundeckTrigger trigger = triggersByProject.remove(project);
+        if (trigger != null) {
+            removeFromIndexes(trigger);
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the items, e.g. once they have all been loaded.
+     */
+    public synchronized void reindex(Iterable<AbstractProject> projects) {
+        triggersByProject.clear();
+        triggersByJobId.clear();
+        triggersByJobReference.clear();
+        triggersByTokenHash.clear();
+        for (AbstractProject<?, ?> project : projects) {
+            RundeckTrigger trigger = project.getTrigger(RundeckTrigger.class);
+            if (trigger != null) {
+                register(project, trigger);
+            }
+        }
+    }
+
+    /**
+     * @return the triggers which may be interested in the given notification, in no particular order
+     */
+    public Set<RundeckTrigger> findCandidates(ExecutionData execution, String requestToken) {
+        Set<RundeckTrigger> candidates = new LinkedHashSet<>();
+        if (requestToken != null) {
+            candidates.addAll(triggersByTokenHash.getOrDefault(hash(requestToken), Collections.emptySet()));
+        }
+        JobItem job = execution.getJob();
+        if (job != null) {
+            if (job.getId() != null) {
+                candidates.addAll(triggersByJobId.getOrDefault(normalize(job.getId()), Collections.emptySet()));
+            }
+            candidates.addAll(triggersByJobReference.getOrDefault(normalize(RundeckTrigger.jobReferenceOf(job)), Collections.emptySet()));
+        }
+        return candidates;
+    }
+
+    public int size() {
+        return triggersByProject.size();
+    }
+
+    private void removeFromIndexes(RundeckTrigger trigger) {
+        removeFrom(triggersByJobId, trigger);
+        removeFrom(triggersByJobReference, trigger);
+        removeFrom(triggersByTokenHash, trigger);
+    }
+
+    private static void removeFrom(Map<String, Set<RundeckTrigger>> index, RundeckTrigger trigger) {
+        index.values().forEach(triggers -> triggers.remove(trigger));
+        index.values().removeIf(Set::isEmpty);
+    }
+
+    private static String normalize(String jobIdentifier) {
+        return Util.fixNull(jobIdentifier).trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Digest of a token, so that the index does not keep plain text secrets as keys.
+     */
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Util.toHexString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Extension
+    public static class ItemListenerImpl extends ItemListener {
+
+        @Override
+        public void onLoaded() {
+            RundeckTriggerRegistry.get().reindex(Jenkins.get().getAllItems(AbstractProject.class));
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            if (item instanceof AbstractProject) {
+                RundeckTriggerRegistry.get().unregister((AbstractProject<?, ?>) item);
+            }
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.jenkinsci.plugins.rundeck;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
@@ -10,9 +9,18 @@ import hudson.model.Hudson;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.servlet.http.HttpServletResponse;
 
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 import jenkins.model.Jenkins;
+
 import org.apache.commons.lang.StringEscapeUtils;
 import org.jenkinsci.plugins.rundeck.client.ExecutionData;
 import org.jenkinsci.plugins.rundeck.util.ParseJson;
@@ -22,6 +30,8 @@ import org.kohsuke.stapler.interceptor.RequirePOST;
 import org.rundeck.client.api.model.Execution;
 import org.rundeck.client.api.model.JobItem;
 
+import static java.lang.String.format;
+
 /**
  * Listener for Rundeck WebHook notifications (see http://rundeck.org/docs/manual/jobs.html#webhooks), will trigger a
  * build using {@link RundeckTrigger}
@@ -30,8 +40,22 @@ import org.rundeck.client.api.model.JobItem;
  */
 public class WebHookListener {
 
+    private static final Logger log = Logger.getLogger(WebHookListener.class.getName());
+
     static final String TOKEN = "rundeckTriggerToken";
 
+    static final int SC_TOO_MANY_REQUESTS = 429;
+
+    /** Larger notifications are rejected without being read entirely */
+    static final int MAX_PAYLOAD_SIZE_IN_BYTES = 1024 * 1024;
+
+    /** Number of threads processing the queued notifications */
+    private static final int WORKERS = 2;
+
+    private ThreadPoolExecutor executor;
+
+    private int executorQueueSize;
+
     @RequirePOST
     public void doIndex(StaplerRequest request, StaplerResponse response) {
 
@@ -40,41 +64,38 @@ public class WebHookListener {
 
             String token = request.getHeader(TOKEN);
 
+            if (request.getContentLength() > MAX_PAYLOAD_SIZE_IN_BYTES) {
+                rejectTooLarge(response);
+                return;
+            }
             Gson gson = new Gson();
             Reader reader = new InputStreamReader(request.getInputStream(), "UTF-8");
-            JsonElement jsonElement = gson.fromJson(reader, JsonElement.class);
-            JsonElement jsonElementCleaned = ParseJson.clean(jsonElement);
+            JsonObject jsonElementCleaned = ParseJson.readExecution(reader, MAX_PAYLOAD_SIZE_IN_BYTES);
             Execution execution = gson.fromJson(jsonElementCleaned, Execution.class);
             ExecutionData executionSafeData = new ExecutionData(execution);
 
+            int queueSize = getQueueSize();
+            if (queueSize > 0) {
+                enqueue(executionSafeData, token, queueSize, response);
+                return;
+            }
+
             // write a basic response
             response.setStatus(HttpServletResponse.SC_OK);
             response.setContentType("text/plain");
 
-            // notify all registered triggers
-            for (AbstractProject<?, ?> job : Jenkins.get().getAllItems(AbstractProject.class)) {
-                RundeckTrigger trigger = job.getTrigger(RundeckTrigger.class);
-                if (trigger != null) {
-                    if (trigger.shouldScheduleBuild(executionSafeData, token)) {
-                        RundeckTrigger.RundeckTriggerCheckResult result = trigger.validateExecution(executionSafeData);
-                        if (result.isValid()) {
-                            response.getWriter().append("[\"Triggering:\" : \"" + job.getFullDisplayName() + "\"\n");
-                            response.getWriter().append("\"Execution\" : \"" + execution.getJob().getName() + "\"]\n");
-                            trigger.onNotification(executionSafeData);
-                        } else {
-                            response.getWriter().append("{\"Error:\" : \"" + result.getMessage() + "\"}");
-                            response.setStatus(400);
-                        }
-                    }
-                }
+            if (!notifyTriggers(executionSafeData, token, response.getWriter())) {
+                response.setStatus(400);
             }
+        }catch (ParseJson.PayloadTooLargeException e){
+            rejectTooLarge(response);
         }catch (JsonSyntaxException e){
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             response.setContentType("text/plain");
             try {
                 response.getWriter().append(e.getMessage());
             } catch (IOException ioException) {
-                ioException.printStackTrace();
+                log.log(Level.WARNING, "Failed to answer an invalid Rundeck notification", ioException);
             }
 
         }catch (Exception e){
@@ -83,6 +104,120 @@ public class WebHookListener {
 
     }
 
+    private static void rejectTooLarge(StaplerResponse response) {
+        response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        response.setContentType("text/plain");
+        try {
+            response.getWriter().append("Notification larger than " + MAX_PAYLOAD_SIZE_IN_BYTES + " bytes");
+        } catch (IOException ioException) {
+            log.log(Level.WARNING, "Failed to answer a too large Rundeck notification", ioException);
+        }
+    }
 
+    /**
+     * Notify the registered triggers which may match this execution.
+     *
+     * @param out receives one line per triggered job and the validation errors
+     * @return false if a matching trigger could not validate the execution
+     */
+    private boolean notifyTriggers(ExecutionData execution, String token, Appendable out) throws IOException {
+        boolean valid = true;
+        for (RundeckTrigger trigger : RundeckTriggerRegistry.get().findCandidates(execution, token)) {
+            AbstractProject<?, ?> job = trigger.getProject();
+            if (job != null && trigger.shouldScheduleBuild(execution, token)) {
+                RundeckTrigger.RundeckTriggerCheckResult result = trigger.validateExecution(execution);
+                if (result.isValid()) {
+                    out.append("[\"Triggering:\" : \"" + job.getFullDisplayName() + "\"\n");
+                    out.append("\"Execution\" : \"" + execution.getJob().getName() + "\"]\n");
+                    trigger.onNotification(execution);
+                } else {
+                    out.append("{\"Error:\" : \"" + result.getMessage() + "\"}");
+                    valid = false;
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Queue the notification once its shape has been checked, and answer right away : the execution is validated
+     * against Rundeck and the builds are scheduled by the background workers.
+     */
+    private void enqueue(ExecutionData execution, String token, int queueSize, StaplerResponse response) throws IOException {
+        response.setContentType("text/plain");
+        if (execution.getId() == null || execution.getJob() == null) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().append("Missing execution id or job");
+            return;
+        }
+        try {
+            getExecutor(queueSize).execute(() -> {
+                StringBuilder out = new StringBuilder();
+                try {
+                    if (!notifyTriggers(execution, token, out)) {
+                        log.warning(format("Rundeck notification of execution #%s rejected : %s", execution.getId(), out));
+                    } else {
+                        log.fine(format("Rundeck notification of execution #%s processed : %s", execution.getId(), out));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.log(Level.WARNING, format("Failed to process the Rundeck notification of execution #%s", execution.getId()), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warning(format("Rundeck notification of execution #%s rejected : more than %d pending notifications",
+                    execution.getId(), queueSize));
+            response.setStatus(SC_TOO_MANY_REQUESTS);
+            response.getWriter().append("Too many pending notifications, retry later");
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+        response.getWriter().append("Accepted");
+    }
+
+    private static int getQueueSize() {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        RundeckNotifier.RundeckDescriptor descriptor = jenkins != null ? jenkins.getDescriptorByType(RundeckNotifier.RundeckDescriptor.class) : null;
+        return descriptor != null ? descriptor.getWebhookQueueSize() : 0;
+    }
+
+    /**
+     * @return the executor processing the queued notifications, rebuilt when the queue size has been changed
+     */
+    private ThreadPoolExecutor getExecutor(int queueSize) {
+        ThreadPoolExecutor previous;
+        ThreadPoolExecutor current;
+        synchronized (this) {
+            if (executor != null && executorQueueSize == queueSize) {
+                return executor;
+            }
+            previous = executor;
+            executor = new ThreadPoolExecutor(WORKERS, WORKERS, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "Rundeck webhook"));
+            executor.allowCoreThreadTimeOut(true);
+            executorQueueSize = queueSize;
+            current = executor;
+        }
+        if (previous != null) {
+            // already queued notifications are still processed, the ones left after the timeout are logged. The wait
+            // happens on the launcher pool: the request which changed the queue size must not be held by it
+            previous.shutdown();
+            RundeckExecutors.launcher().execute(() -> RundeckExecutors.shutdownAndAwait(previous, "Rundeck webhook pool"));
+        }
+        return current;
+    }
+
+    /**
+     * Stop processing the queued notifications, when Jenkins stops.
+     */
+    void shutdown() {
+        ThreadPoolExecutor pool;
+        synchronized (this) {
+            pool = executor;
+            executor = null;
+        }
+        if (pool != null) {
+            RundeckExecutors.shutdownAndAwait(pool, "Rundeck webhook pool");
+        }
+    }
 
 }
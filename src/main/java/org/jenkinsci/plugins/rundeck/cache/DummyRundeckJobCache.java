@@ -1,5 +1,8 @@
 package org.jenkinsci.plugins.rundeck.cache;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Logger;
 
 import org.jenkinsci.plugins.rundeck.RundeckNotifier;
@@ -22,6 +25,22 @@ public class DummyRundeckJobCache implements RundeckJobCache {
         return RundeckNotifier.RundeckDescriptor.findJobUncached(rundeckJobId, rundeckInstance);
     }
 
+    @Override
+    public String findJobIdByReference(String project, String groupPath, String name, String rundeckInstanceName,
+                                       RundeckManager rundeckInstance) throws IOException {
+        return rundeckInstance.findJobId(project, name, groupPath);
+    }
+
+    @Override
+    public int preloadProject(String project, String rundeckInstanceName, RundeckManager rundeckInstance) {
+        return 0;
+    }
+
+    @Override
+    public List<RundeckJobCacheStats> getStats() {
+        return Collections.emptyList();
+    }
+
     @Override
     public String logAndGetStats() {
         return "0% hit rate for dummy cache";
@@ -4,17 +4,28 @@ import static java.lang.String.format;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 import org.jenkinsci.plugins.rundeck.RundeckNotifier;
-import org.jenkinsci.plugins.rundeck.client.RundeckClientManager;
+import org.jenkinsci.plugins.rundeck.client.RundeckClientRegistry;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
 import org.jenkinsci.plugins.rundeck.client.RundeckManager;
 import org.rundeck.client.api.model.JobItem;
 
@@ -30,34 +41,360 @@ public class InMemoryRundeckJobCache implements RundeckJobCache {
 
     private static final int RUNDECK_INSTANCE_CACHE_CONTAINER_EXPIRATION_IN_DAYS = 1;
 
-    private final int cacheStatsDisplayHitThreshold;
+    /** Fixed overhead of a cache entry in bytes, used to weigh the entries */
+    private static final int ENTRY_OVERHEAD_IN_BYTES = 96;
+
+    private static final int NEGATIVE_CACHE_MAXIMUM_SIZE = 1000;
+
+    /** Value of a negative entry for a job which does not exist, other values are error messages */
+    private static final String NOT_FOUND = "";
+
+    private volatile RundeckJobCacheConfig rundeckJobCacheConfig;
+
+    private volatile int cacheStatsDisplayHitThreshold;
 
     private final LoadingCache<String, Cache<String, JobItem>> rundeckJobInstanceAwareCache;
 
-    private long hitCounter = 0;
+    /** Job references (project:group/name) to job UUID, per Rundeck instance */
+    private final LoadingCache<String, Cache<String, String>> rundeckJobReferenceInstanceAwareCache;
+
+    /**
+     * Job identifiers (prefixed with the Rundeck instance name) which recently could not be resolved, with the
+     * reason. They are not looked up again until the entry expires.
+     */
+    private final Cache<String, String> negativeCache;
+
+    /**
+     * Clients used per Rundeck instance, by client identity (URL and credential fingerprint), needed to reload entries
+     * in the background with credentials which can see them
+     */
+    private final Map<String, Map<String, RundeckManager>> rundeckClients = new ConcurrentHashMap<>();
+
+    private final Ticker ticker;
+
+    /** Runs the background reloads */
+    private final Executor executor;
+
+    private final AtomicLong requestCounter = new AtomicLong();
 
     public InMemoryRundeckJobCache(final RundeckJobCacheConfig rundeckJobCacheConfig) {
+        this(rundeckJobCacheConfig, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    InMemoryRundeckJobCache(final RundeckJobCacheConfig rundeckJobCacheConfig, final Ticker ticker, final Executor executor) {
         Objects.requireNonNull(rundeckJobCacheConfig);
+        this.rundeckJobCacheConfig = rundeckJobCacheConfig;
+        this.ticker = ticker;
+        this.executor = executor;
         this.cacheStatsDisplayHitThreshold = rundeckJobCacheConfig.getCacheStatsDisplayHitThreshold();
         this.rundeckJobInstanceAwareCache = Caffeine.newBuilder().recordStats()
                 .expireAfterAccess(RUNDECK_INSTANCE_CACHE_CONTAINER_EXPIRATION_IN_DAYS, TimeUnit.DAYS)    //just in case given instance was removed
-                .build(
-                        rundeckInstanceName -> createJobCacheForRundeckInstance(rundeckInstanceName, rundeckJobCacheConfig));
+                .build(this::createJobCacheForRundeckInstance);
+        this.rundeckJobReferenceInstanceAwareCache = Caffeine.newBuilder().recordStats()
+                .expireAfterAccess(RUNDECK_INSTANCE_CACHE_CONTAINER_EXPIRATION_IN_DAYS, TimeUnit.DAYS)
+                .build(this::createJobReferenceCacheForRundeckInstance);
+        this.negativeCache = Caffeine.newBuilder().recordStats().ticker(ticker)
+                .expireAfterWrite(Math.max(1, rundeckJobCacheConfig.getNegativeExpirationInSeconds()), TimeUnit.SECONDS)
+                .maximumSize(NEGATIVE_CACHE_MAXIMUM_SIZE)
+                .build();
+    }
+
+    /**
+     * Create a cache with the given configuration, filled with the entries of the previous one so that a configuration
+     * change does not start from a cold cache.
+     */
+    public InMemoryRundeckJobCache(final RundeckJobCacheConfig rundeckJobCacheConfig, final InMemoryRundeckJobCache previous) {
+        this(rundeckJobCacheConfig);
+        for (Map.Entry<String, Map<String, RundeckManager>> instanceClients : previous.rundeckClients.entrySet()) {
+            rundeckClients.put(instanceClients.getKey(), new ConcurrentHashMap<>(instanceClients.getValue()));
+        }
+        for (Map.Entry<String, Cache<String, JobItem>> instanceCache : previous.rundeckJobInstanceAwareCache.asMap().entrySet()) {
+            rundeckJobInstanceAwareCache.get(instanceCache.getKey()).putAll(instanceCache.getValue().asMap());
+        }
+        for (Map.Entry<String, Cache<String, String>> instanceCache : previous.rundeckJobReferenceInstanceAwareCache.asMap().entrySet()) {
+            rundeckJobReferenceInstanceAwareCache.get(instanceCache.getKey()).putAll(instanceCache.getValue().asMap());
+        }
+    }
+
+    /**
+     * Apply the given configuration to the existing caches, keeping their entries. Bounds and expiration are changed
+     * in place; switching between a size and a weight bound or changing the refresh interval is not possible on a
+     * built cache.
+     *
+     * @return false if the configuration could not be applied in place and a new cache has to be created
+     */
+    public boolean reconfigure(final RundeckJobCacheConfig newRundeckJobCacheConfig) {
+        Objects.requireNonNull(newRundeckJobCacheConfig);
+        if (newRundeckJobCacheConfig.isWeighted() != rundeckJobCacheConfig.isWeighted()
+                || newRundeckJobCacheConfig.getRefreshAfterWriteInMinutes() != rundeckJobCacheConfig.getRefreshAfterWriteInMinutes()) {
+            return false;
+        }
+        rundeckJobCacheConfig = newRundeckJobCacheConfig;
+        cacheStatsDisplayHitThreshold = newRundeckJobCacheConfig.getCacheStatsDisplayHitThreshold();
+        negativeCache.policy().expireAfterWrite().ifPresent(expiration ->
+                expiration.setExpiresAfter(Math.max(1, newRundeckJobCacheConfig.getNegativeExpirationInSeconds()), TimeUnit.SECONDS));
+        for (Cache<String, JobItem> instanceCache : rundeckJobInstanceAwareCache.asMap().values()) {
+            applyBounds(instanceCache, newRundeckJobCacheConfig);
+        }
+        for (Cache<String, String> instanceCache : rundeckJobReferenceInstanceAwareCache.asMap().values()) {
+            applyBounds(instanceCache, newRundeckJobCacheConfig);
+        }
+        log.info("Rundeck job cache reconfigured in place: " + newRundeckJobCacheConfig);
+        return true;
+    }
+
+    private static void applyBounds(Cache<String, ?> instanceCache, RundeckJobCacheConfig rundeckJobCacheConfig) {
+        instanceCache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maximumOf(rundeckJobCacheConfig)));
+        instanceCache.policy().expireAfterAccess().ifPresent(expiration ->
+                expiration.setExpiresAfter(rundeckJobCacheConfig.getAfterAccessExpirationInMinutes(), TimeUnit.MINUTES));
+    }
+
+    private static long maximumOf(RundeckJobCacheConfig rundeckJobCacheConfig) {
+        return rundeckJobCacheConfig.isWeighted()
+                ? rundeckJobCacheConfig.getMaximumWeightInKilobytes() * 1024L
+                : rundeckJobCacheConfig.getMaximumSize();
     }
 
-    private Cache<String, JobItem> createJobCacheForRundeckInstance(String rundeckInstanceName, RundeckJobCacheConfig rundeckJobCacheConfig) {
+    private Cache<String, JobItem> createJobCacheForRundeckInstance(String rundeckInstanceName) {
         log.info(format("Loading (GENERATING) jobs cache container for Rundeck instance %s", rundeckInstanceName));
-        return Caffeine.newBuilder().recordStats()
-                .expireAfterAccess(rundeckJobCacheConfig.getAfterAccessExpirationInMinutes(), TimeUnit.MINUTES)
-                .maximumSize(rundeckJobCacheConfig.getMaximumSize())
-                .build();
+        return buildInstanceCache(rundeckJobId -> {
+            log.fine(format("Refreshing cached job %s (%s)", rundeckJobId, rundeckInstanceName));
+            JobItem job = reload(rundeckInstanceName, rundeckClient -> RundeckNotifier.RundeckDescriptor.lookupJob(rundeckJobId, rundeckClient));
+            changed();
+            return job;
+        });
+    }
+
+    private Cache<String, String> createJobReferenceCacheForRundeckInstance(String rundeckInstanceName) {
+        log.info(format("Loading (GENERATING) job references cache container for Rundeck instance %s", rundeckInstanceName));
+        return buildInstanceCache(jobReference -> {
+            log.fine(format("Refreshing cached job reference %s (%s)", jobReference, rundeckInstanceName));
+            int projectEnd = jobReference.indexOf(':');
+            int groupEnd = jobReference.lastIndexOf('/');
+            String groupPath = jobReference.substring(projectEnd + 1, groupEnd);
+            String jobId = reload(rundeckInstanceName, rundeckClient -> rundeckClient.findJobId(jobReference.substring(0, projectEnd),
+                    jobReference.substring(groupEnd + 1), groupPath.isEmpty() ? null : groupPath));
+            changed();
+            return jobId;
+        });
+    }
+
+    /**
+     * With a refresh interval, entries older than it are reloaded asynchronously on their next access while the
+     * current value keeps being served. A failed reload keeps the current value, a job which is not found anymore is
+     * dropped.
+     */
+    private <V> Cache<String, V> buildInstanceCache(CacheLoader<String, V> refreshLoader) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats().ticker(ticker).executor(executor)
+                .expireAfterAccess(rundeckJobCacheConfig.getAfterAccessExpirationInMinutes(), TimeUnit.MINUTES);
+        if (rundeckJobCacheConfig.isWeighted()) {
+            builder.maximumWeight(maximumOf(rundeckJobCacheConfig)).weigher(InMemoryRundeckJobCache::weigh);
+        } else {
+            builder.maximumSize(rundeckJobCacheConfig.getMaximumSize());
+        }
+        if (rundeckJobCacheConfig.getRefreshAfterWriteInMinutes() <= 0) {
+            return builder.build();
+        }
+        return builder.refreshAfterWrite(rundeckJobCacheConfig.getRefreshAfterWriteInMinutes(), TimeUnit.MINUTES)
+                .build(refreshLoader);
+    }
+
+    /**
+     * Rough estimation of the memory held by an entry, in bytes.
+     */
+    static int weigh(Object key, Object value) {
+        int chars = String.valueOf(key).length();
+        if (value instanceof JobItem) {
+            JobItem job = (JobItem) value;
+            chars += length(job.getId()) + length(job.getName()) + length(job.getGroup())
+                    + length(job.getProject()) + length(job.getDescription());
+        } else {
+            chars += String.valueOf(value).length();
+        }
+        return ENTRY_OVERHEAD_IN_BYTES + 2 * chars;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private interface ClientCall<V> {
+        V call(RundeckManager rundeckClient) throws IOException;
+    }
+
+    /**
+     * Reload an entry with the clients known for the instance, until one of them finds it. Errors are thrown, so that
+     * the current value is kept: null is only returned when none of the clients found the entry.
+     */
+    private <V> V reload(String rundeckInstanceName, ClientCall<V> call) throws IOException {
+        Map<String, RundeckManager> instanceClients = rundeckClients.get(rundeckInstanceName);
+        if (instanceClients == null || instanceClients.isEmpty()) {
+            throw new IllegalStateException("No Rundeck client known for instance " + rundeckInstanceName);
+        }
+        IOException failure = null;
+        for (RundeckManager rundeckClient : instanceClients.values()) {
+            try {
+                V value = call.call(rundeckClient);
+                if (value != null) {
+                    return value;
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return null;
+    }
+
+    private void rememberClient(String rundeckInstanceName, RundeckManager rundeckClient) {
+        String clientKey = rundeckClient.getRundeckInstance() != null
+                ? RundeckClientRegistry.keyOf(rundeckClient.getRundeckInstance())
+                : String.valueOf(System.identityHashCode(rundeckClient));
+        rundeckClients.computeIfAbsent(rundeckInstanceName, name -> new ConcurrentHashMap<>()).put(clientKey, rundeckClient);
     }
 
     public JobItem findJobById(final String rundeckJobId, final String rundeckInstanceName, final RundeckManager rundeckInstance) {
         log.fine(format("Cached findJob request for jobId: %s (%s)", rundeckJobId, rundeckInstanceName));
+        rememberClient(rundeckInstanceName, rundeckInstance);
         return findByJobIdInCacheOrAskServer(rundeckJobId, rundeckInstanceName, rundeckInstance);
     }
 
+    @Override
+    public String findJobIdByReference(final String project, final String groupPath, final String name,
+                                       final String rundeckInstanceName, final RundeckManager rundeckInstance) throws IOException {
+        String jobReference = jobReferenceOf(project, groupPath, name);
+        log.fine(format("Cached findJobId request for job reference: %s (%s)", jobReference, rundeckInstanceName));
+        rememberClient(rundeckInstanceName, rundeckInstance);
+        Cache<String, String> jobReferenceCache = rundeckJobReferenceInstanceAwareCache.get(rundeckInstanceName);
+        String negativeKey = negativeKeyOf(rundeckInstanceName, jobReference);
+        String jobId = jobReferenceCache.asMap().get(jobReference);
+        if (jobId == null) {
+            String reason = negativeCache.getIfPresent(negativeKey);
+            if (reason != null) {
+                log.fine(format("Job reference %s (%s) recently unresolved, not asking Rundeck again", jobReference, rundeckInstanceName));
+                if (NOT_FOUND.equals(reason)) {
+                    return null;
+                }
+                throw new IOException(reason);
+            }
+        }
+        try {
+            jobId = jobReferenceCache.get(jobReference, unused -> {
+                try {
+                    return loaded(rundeckInstance.findJobId(project, name, groupPath));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (jobId == null) {
+                rememberUnresolved(negativeKey, NOT_FOUND);
+            }
+            logCacheStatsIfAppropriate(rundeckInstanceName, jobReferenceCache);
+            return jobId;
+        } catch (UncheckedIOException e) {
+            rememberUnresolved(negativeKey, String.valueOf(e.getCause().getMessage()));
+            throw e.getCause();
+        }
+    }
+
+    private void rememberUnresolved(String negativeKey, String reason) {
+        if (rundeckJobCacheConfig.getNegativeExpirationInSeconds() > 0) {
+            negativeCache.put(negativeKey, reason);
+        }
+    }
+
+    private static String negativeKeyOf(String rundeckInstanceName, String jobIdentifier) {
+        return rundeckInstanceName + "|" + jobIdentifier;
+    }
+
+    @Override
+    public int preloadProject(final String project, final String rundeckInstanceName, final RundeckManager rundeckInstance) throws IOException {
+        List<JobItem> jobs = rundeckInstance.listJobs(project);
+        rememberClient(rundeckInstanceName, rundeckInstance);
+        Cache<String, JobItem> rundeckJobCache = rundeckJobInstanceAwareCache.get(rundeckInstanceName);
+        Cache<String, String> jobReferenceCache = rundeckJobReferenceInstanceAwareCache.get(rundeckInstanceName);
+        for (JobItem job : jobs) {
+            String jobReference = jobReferenceOf(project, job.getGroup(), job.getName());
+            rundeckJobCache.put(job.getId(), job);
+            jobReferenceCache.put(jobReference, job.getId());
+            negativeCache.invalidate(negativeKeyOf(rundeckInstanceName, job.getId()));
+            negativeCache.invalidate(negativeKeyOf(rundeckInstanceName, jobReference));
+        }
+        if (!jobs.isEmpty()) {
+            changed();
+        }
+        log.info(format("Preloaded %d jobs of project %s in cache for Rundeck instance %s", jobs.size(), project, rundeckInstanceName));
+        return jobs.size();
+    }
+
+    static String jobReferenceOf(String project, String groupPath, String name) {
+        return project + ":" + (groupPath != null ? groupPath : "") + "/" + name;
+    }
+
+    /**
+     * @return a copy of the cached jobs, per Rundeck instance
+     */
+    protected Map<String, Map<String, JobItem>> getCachedJobs() {
+        Map<String, Map<String, JobItem>> cachedJobs = new HashMap<>();
+        for (Map.Entry<String, Cache<String, JobItem>> instanceCache : rundeckJobInstanceAwareCache.asMap().entrySet()) {
+            cachedJobs.put(instanceCache.getKey(), new HashMap<>(instanceCache.getValue().asMap()));
+        }
+        return cachedJobs;
+    }
+
+    /**
+     * @return a copy of the cached job references with their job UUID, per Rundeck instance
+     */
+    protected Map<String, Map<String, String>> getCachedJobReferences() {
+        Map<String, Map<String, String>> cachedJobReferences = new HashMap<>();
+        for (Map.Entry<String, Cache<String, String>> instanceCache : rundeckJobReferenceInstanceAwareCache.asMap().entrySet()) {
+            cachedJobReferences.put(instanceCache.getKey(), new HashMap<>(instanceCache.getValue().asMap()));
+        }
+        return cachedJobReferences;
+    }
+
+    /**
+     * Store or, if the job is null, remove a cached job.
+     */
+    protected void putCachedJob(String rundeckInstanceName, String rundeckJobId, JobItem job) {
+        Cache<String, JobItem> rundeckJobCache = rundeckJobInstanceAwareCache.get(rundeckInstanceName);
+        if (job != null) {
+            rundeckJobCache.put(rundeckJobId, job);
+        } else {
+            rundeckJobCache.invalidate(rundeckJobId);
+        }
+        changed();
+    }
+
+    /**
+     * Store or, if the job UUID is null, remove a cached job reference.
+     */
+    protected void putCachedJobReference(String rundeckInstanceName, String jobReference, String rundeckJobId) {
+        Cache<String, String> jobReferenceCache = rundeckJobReferenceInstanceAwareCache.get(rundeckInstanceName);
+        if (rundeckJobId != null) {
+            jobReferenceCache.put(jobReference, rundeckJobId);
+        } else {
+            jobReferenceCache.invalidate(jobReference);
+        }
+        changed();
+    }
+
+    @Override
+    public List<RundeckJobCacheStats> getStats() {
+        List<RundeckJobCacheStats> stats = new ArrayList<>();
+        for (Map.Entry<String, Cache<String, JobItem>> instanceCacheEntries : rundeckJobInstanceAwareCache.asMap().entrySet()) {
+            stats.add(RundeckJobCacheStats.of(instanceCacheEntries.getKey(), instanceCacheEntries.getValue()));
+        }
+        for (Map.Entry<String, Cache<String, String>> instanceCacheEntries : rundeckJobReferenceInstanceAwareCache.asMap().entrySet()) {
+            stats.add(RundeckJobCacheStats.of(instanceCacheEntries.getKey() + " (references)", instanceCacheEntries.getValue()));
+        }
+        stats.add(RundeckJobCacheStats.of("Negative", negativeCache));
+        stats.add(RundeckJobCacheStats.of("Meta", rundeckJobInstanceAwareCache));
+        return stats;
+    }
+
     @Override
     public String logAndGetStats() {
         return logStatsAndReturnsAsString();
@@ -66,14 +403,12 @@ public class InMemoryRundeckJobCache implements RundeckJobCache {
     private String logStatsAndReturnsAsString() {
         StringBuilder sb = new StringBuilder();
         if (rundeckJobInstanceAwareCache.estimatedSize() == 0) {
-            sb.append("Cache is empty");
-        } else {
-            for(Map.Entry<String, Cache<String, JobItem>> instanceCacheEntries: rundeckJobInstanceAwareCache.asMap().entrySet()) {
-                logCacheStats(instanceCacheEntries.getKey(), instanceCacheEntries.getValue());
-                sb.append(format("%s: %s", instanceCacheEntries.getKey(), instanceCacheEntries.getValue().stats())).append("\n");
-            }
+            sb.append("Cache is empty\n");
+        }
+        for (RundeckJobCacheStats stats : getStats()) {
+            log.info(stats.toString());
+            sb.append(stats).append("\n");
         }
-        logCacheStats("Meta", rundeckJobInstanceAwareCache);
         return sb.toString();
     }
 
@@ -82,28 +417,62 @@ public class InMemoryRundeckJobCache implements RundeckJobCache {
         logStatsAndReturnsAsString();
         log.info("Rundeck job cache invalidation");
         rundeckJobInstanceAwareCache.invalidateAll();
+        rundeckJobReferenceInstanceAwareCache.invalidateAll();
+        negativeCache.invalidateAll();
+        rundeckClients.clear();
+        changed();
+    }
+
+    /**
+     * Called when entries are stored, reloaded or removed, but not when they are only read.
+     */
+    protected void changed() {
+    }
+
+    private <V> V loaded(V value) {
+        if (value != null) {
+            changed();
+        }
+        return value;
     }
 
     @SuppressFBWarnings(value = "NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE")
     private JobItem findByJobIdInCacheOrAskServer(final String rundeckJobId, String rundeckInstanceName,
                                                   final RundeckManager rundeckInstance) {
         Cache<String, JobItem> rundeckJobCache = rundeckJobInstanceAwareCache.get(rundeckInstanceName);
+        String negativeKey = negativeKeyOf(rundeckInstanceName, rundeckJobId);
+        JobItem tmp = rundeckJobCache.asMap().get(rundeckJobId);
+        if (tmp == null && negativeCache.getIfPresent(negativeKey) != null) {
+            log.fine(format("Job %s (%s) recently unresolved, not asking Rundeck again", rundeckJobId, rundeckInstanceName));
+            return null;
+        }
 
-        JobItem tmp = rundeckJobCache.get(rundeckJobId, unused -> RundeckNotifier.RundeckDescriptor.findJobUncached(rundeckJobId, rundeckInstance));
+        // not found and errors both end up as null, Caffeine does not store it
+        try {
+            tmp = rundeckJobCache.get(rundeckJobId, unused -> {
+                try {
+                    return loaded(RundeckNotifier.RundeckDescriptor.lookupJob(rundeckJobId, rundeckInstance));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (tmp == null) {
+                rememberUnresolved(negativeKey, NOT_FOUND);
+            }
+        } catch (UncheckedIOException e) {
+            log.warning(format("Unable to find job %s (%s) : %s", rundeckJobId, rundeckInstanceName, e.getCause().getMessage()));
+            rememberUnresolved(negativeKey, String.valueOf(e.getCause().getMessage()));
+        }
         logCacheStatsIfAppropriate(rundeckInstanceName, rundeckJobCache);
         return tmp;
     }
 
-    private void logCacheStatsIfAppropriate(String instanceName, Cache<String, JobItem> jobCache) {
+    private void logCacheStatsIfAppropriate(String instanceName, Cache<String, ?> jobCache) {
         if (cacheStatsDisplayHitThreshold <= 0) {    //stats printing disabled
             return;
         }
-        if (++hitCounter % cacheStatsDisplayHitThreshold == 0) {
-            logCacheStats(instanceName, jobCache);
+        if (requestCounter.incrementAndGet() % cacheStatsDisplayHitThreshold == 0) {
+            log.info(RundeckJobCacheStats.of(instanceName, jobCache).toString());
         }
     }
-
-    private void logCacheStats(String instanceName, Cache<String, ?> jobCache) {
-        log.info(format("%s: %s", instanceName, jobCache.stats()));
-    }
 }
@@ -0,0 +1,224 @@
+package org.jenkinsci.plugins.rundeck.cache;
+
+import static java.lang.String.format;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import hudson.util.AtomicFileWriter;
+import jenkins.util.Timer;
+import org.jenkinsci.plugins.rundeck.RundeckNotifier;
+import org.jenkinsci.plugins.rundeck.client.RundeckManager;
+import org.rundeck.client.api.model.JobItem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Rundeck job cache which survives restarts: the in-memory cache is written to a file under {@code JENKINS_HOME}
+ * shortly after entries are stored, reloaded or removed, and reloaded from that file when the cache is created.
+ * <p>
+ * Restored entries are served as is and validated against Rundeck in the background on their first use, so the
+ * startup never waits for Rundeck. A restored entry is only replaced when Rundeck answers, errors keep it.
+ */
+public class PersistentRundeckJobCache extends InMemoryRundeckJobCache {
+
+    private static final Logger log = Logger.getLogger(PersistentRundeckJobCache.class.getName());
+
+    public static final String CACHE_FILE_NAME = "rundeck-job-cache.json";
+
+    private static final int FORMAT_VERSION = 1;
+
+    /** Changes are written at most once per delay */
+    private static final long SAVE_DELAY_IN_SECONDS = 30;
+
+    private static final Gson GSON = new Gson();
+
+    private final File cacheFile;
+
+    /** Restored entries ("job|instance|id" or "ref|instance|reference") not checked against Rundeck yet */
+    private final Set<String> unvalidatedEntries = ConcurrentHashMap.newKeySet();
+
+    /** Runs the validation of the restored entries */
+    private final Executor validationExecutor;
+
+    /** Set when entries changed since the last save */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private ScheduledFuture<?> pendingSave;
+
+    private boolean closed;
+
+    public PersistentRundeckJobCache(final RundeckJobCacheConfig rundeckJobCacheConfig, final File cacheFile) {
+        this(rundeckJobCacheConfig, cacheFile, Timer.get());
+    }
+
+    PersistentRundeckJobCache(final RundeckJobCacheConfig rundeckJobCacheConfig, final File cacheFile, final Executor validationExecutor) {
+        super(rundeckJobCacheConfig);
+        this.cacheFile = cacheFile;
+        this.validationExecutor = validationExecutor;
+        restore();
+        // restored entries are already on disk
+        dirty.set(false);
+    }
+
+    /**
+     * Create a persistent cache filled with the entries of the previous one, e.g. after a configuration change.
+     */
+    public PersistentRundeckJobCache(final RundeckJobCacheConfig rundeckJobCacheConfig, final File cacheFile,
+                                     final InMemoryRundeckJobCache previous) {
+        super(rundeckJobCacheConfig, previous);
+        this.cacheFile = cacheFile;
+        this.validationExecutor = Timer.get();
+        if (previous instanceof PersistentRundeckJobCache) {
+            unvalidatedEntries.addAll(((PersistentRundeckJobCache) previous).unvalidatedEntries);
+        }
+        changed();
+    }
+
+    @Override
+    public JobItem findJobById(final String rundeckJobId, final String rundeckInstanceName, final RundeckManager rundeckInstance) {
+        if (unvalidatedEntries.remove("job|" + rundeckInstanceName + "|" + rundeckJobId)) {
+            validationExecutor.execute(() -> {
+                try {
+                    putCachedJob(rundeckInstanceName, rundeckJobId, RundeckNotifier.RundeckDescriptor.lookupJob(rundeckJobId, rundeckInstance));
+                } catch (IOException | RuntimeException e) {
+                    log.log(Level.FINE, format("Unable to validate restored job %s (%s), keeping it", rundeckJobId, rundeckInstanceName), e);
+                }
+            });
+        }
+        return super.findJobById(rundeckJobId, rundeckInstanceName, rundeckInstance);
+    }
+
+    @Override
+    public String findJobIdByReference(final String project, final String groupPath, final String name,
+                                       final String rundeckInstanceName, final RundeckManager rundeckInstance) throws IOException {
+        String jobReference = jobReferenceOf(project, groupPath, name);
+        if (unvalidatedEntries.remove("ref|" + rundeckInstanceName + "|" + jobReference)) {
+            validationExecutor.execute(() -> {
+                try {
+                    putCachedJobReference(rundeckInstanceName, jobReference, rundeckInstance.findJobId(project, name, groupPath));
+                } catch (IOException | RuntimeException e) {
+                    log.log(Level.FINE, format("Unable to validate restored job reference %s (%s), keeping it", jobReference, rundeckInstanceName), e);
+                }
+            });
+        }
+        return super.findJobIdByReference(project, groupPath, name, rundeckInstanceName, rundeckInstance);
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        unvalidatedEntries.clear();
+    }
+
+    @Override
+    protected void changed() {
+        dirty.set(true);
+        scheduleSave();
+    }
+
+    private synchronized void scheduleSave() {
+        if (!closed && (pendingSave == null || pendingSave.isDone())) {
+            pendingSave = Timer.get().schedule(this::save, SAVE_DELAY_IN_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stop saving this cache, e.g. when it is replaced after a configuration change. A pending save is cancelled.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+            pendingSave = null;
+        }
+    }
+
+    void save() {
+        synchronized (this) {
+            pendingSave = null;
+            if (closed) {
+                return;
+            }
+        }
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        Snapshot snapshot = new Snapshot();
+        snapshot.version = FORMAT_VERSION;
+        snapshot.jobs = getCachedJobs();
+        snapshot.references = getCachedJobReferences();
+        try {
+            AtomicFileWriter writer = new AtomicFileWriter(cacheFile.toPath(), StandardCharsets.UTF_8);
+            try {
+                GSON.toJson(snapshot, writer);
+                writer.commit();
+            } finally {
+                writer.abort();
+            }
+            log.fine(format("Rundeck job cache saved to %s", cacheFile));
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            log.log(Level.WARNING, format("Unable to save Rundeck job cache to %s", cacheFile), e);
+        }
+    }
+
+    private void restore() {
+        if (!cacheFile.isFile()) {
+            return;
+        }
+        Snapshot snapshot;
+        try (Reader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            snapshot = GSON.fromJson(reader, Snapshot.class);
+        } catch (IOException | JsonParseException e) {
+            log.log(Level.WARNING, format("Unable to restore Rundeck job cache from %s, starting empty", cacheFile), e);
+            return;
+        }
+        if (snapshot == null || snapshot.version != FORMAT_VERSION) {
+            log.info(format("Ignoring Rundeck job cache file %s with an unknown format", cacheFile));
+            return;
+        }
+
+        int restored = 0;
+        if (snapshot.jobs != null) {
+            for (Map.Entry<String, Map<String, JobItem>> instanceJobs : snapshot.jobs.entrySet()) {
+                for (Map.Entry<String, JobItem> job : instanceJobs.getValue().entrySet()) {
+                    putCachedJob(instanceJobs.getKey(), job.getKey(), job.getValue());
+                    unvalidatedEntries.add("job|" + instanceJobs.getKey() + "|" + job.getKey());
+                    restored++;
+                }
+            }
+        }
+        if (snapshot.references != null) {
+            for (Map.Entry<String, Map<String, String>> instanceReferences : snapshot.references.entrySet()) {
+                for (Map.Entry<String, String> reference : instanceReferences.getValue().entrySet()) {
+                    putCachedJobReference(instanceReferences.getKey(), reference.getKey(), reference.getValue());
+                    unvalidatedEntries.add("ref|" + instanceReferences.getKey() + "|" + reference.getKey());
+                    restored++;
+                }
+            }
+        }
+        log.info(format("Restored %d Rundeck job cache entries from %s", restored, cacheFile));
+    }
+
+    /**
+     * On-disk format of the cache.
+     */
+    private static final class Snapshot {
+        private int version;
+        private Map<String, Map<String, JobItem>> jobs;
+        private Map<String, Map<String, String>> references;
+    }
+}
@@ -3,6 +3,9 @@ package org.jenkinsci.plugins.rundeck.cache;
 import org.jenkinsci.plugins.rundeck.client.RundeckManager;
 import org.rundeck.client.api.model.JobItem;
 
+import java.io.IOException;
+import java.util.List;
+
 /**
  * Interface with operation for Rundeck job cache.
  *
@@ -13,6 +16,27 @@ public interface RundeckJobCache {
 
     JobItem findJobById(final String rundeckJobId, final String rundeckInstanceName, final RundeckManager rundeckInstance);
 
+    /**
+     * Resolve a job reference (project:group/name) to the job UUID.
+     *
+     * @return the job UUID, or null if not found
+     */
+    String findJobIdByReference(final String project, final String groupPath, final String name,
+                                final String rundeckInstanceName, final RundeckManager rundeckInstance) throws IOException;
+
+    /**
+     * Fetch all the jobs of the given project with a single call and add them to the cache, indexed both by UUID
+     * and by reference.
+     *
+     * @return the number of jobs loaded
+     */
+    int preloadProject(final String project, final String rundeckInstanceName, final RundeckManager rundeckInstance) throws IOException;
+
+    /**
+     * @return a snapshot of the statistics of each underlying cache
+     */
+    List<RundeckJobCacheStats> getStats();
+
     String logAndGetStats();
 
     void invalidate();
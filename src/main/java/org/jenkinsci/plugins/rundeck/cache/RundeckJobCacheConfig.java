@@ -1,26 +1,60 @@
 package org.jenkinsci.plugins.rundeck.cache;
 
+import net.sf.json.JSONObject;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
 /**
  * Rundeck job cache configuration.
  *
  * @author Marcin Zajączkowski
  * @since 3.6.0
  */
-//TODO: Could be immutable with builder and copy constructor
 public class RundeckJobCacheConfig {
 
     private boolean enabled = false;
+    private boolean persistent = false;
     private int afterAccessExpirationInMinutes = 18 * 60;
     private int maximumSize = 500;
+    private int maximumWeightInKilobytes = 0;
     private int cacheStatsDisplayHitThreshold = 200;
+    private int preloadIntervalInMinutes = 0;
+    private int refreshAfterWriteInMinutes = 0;
+    private int negativeExpirationInSeconds = 60;
 
-    private RundeckJobCacheConfig() {
+    @DataBoundConstructor
+    public RundeckJobCacheConfig() {
     }
 
     public static RundeckJobCacheConfig initializeWithDefaultValues() {
         return new RundeckJobCacheConfig();
     }
 
+    /**
+     * Bind a configuration from the global configuration form. Settings missing from the form keep their current value.
+     *
+     * @param enabled whether the cache is enabled
+     * @param cacheJson settings of the cache, null when the cache is disabled
+     * @param current configuration in use
+     * @return the new configuration
+     */
+    public static RundeckJobCacheConfig fromForm(boolean enabled, JSONObject cacheJson, RundeckJobCacheConfig current) {
+        RundeckJobCacheConfig config = initializeWithDefaultValues();
+        config.setEnabled(enabled);
+        if (cacheJson != null) {
+            config.setPersistent(cacheJson.optBoolean("persistent", current.isPersistent()));
+            config.setAfterAccessExpirationInMinutes(cacheJson.optInt("afterAccessExpirationInMinutes", current.getAfterAccessExpirationInMinutes()));
+            config.setMaximumSize(cacheJson.optInt("maximumSize", current.getMaximumSize()));
+            config.setMaximumWeightInKilobytes(cacheJson.optInt("maximumWeightInKilobytes", current.getMaximumWeightInKilobytes()));
+            config.setCacheStatsDisplayHitThreshold(cacheJson.optInt("cacheStatsDisplayHitThreshold", current.getCacheStatsDisplayHitThreshold()));
+            config.setPreloadIntervalInMinutes(cacheJson.optInt("preloadIntervalInMinutes", current.getPreloadIntervalInMinutes()));
+            config.setRefreshAfterWriteInMinutes(cacheJson.optInt("refreshAfterWriteInMinutes", current.getRefreshAfterWriteInMinutes()));
+            config.setNegativeExpirationInSeconds(cacheJson.optInt("negativeExpirationInSeconds", current.getNegativeExpirationInSeconds()));
+        }
+        return config;
+    }
+
+    @DataBoundSetter
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
@@ -29,25 +63,112 @@ public class RundeckJobCacheConfig {
         return enabled;
     }
 
+    /**
+     * @return true if the cache is saved under JENKINS_HOME and restored after a restart
+     */
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    @DataBoundSetter
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
     public int getAfterAccessExpirationInMinutes() {
         return afterAccessExpirationInMinutes;
     }
 
+    @DataBoundSetter
+    public void setAfterAccessExpirationInMinutes(int afterAccessExpirationInMinutes) {
+        this.afterAccessExpirationInMinutes = Math.max(1, afterAccessExpirationInMinutes);
+    }
+
     public int getMaximumSize() {
         return maximumSize;
     }
 
+    @DataBoundSetter
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = Math.max(1, maximumSize);
+    }
+
+    /**
+     * @return bound of the approximate memory used by the cached jobs of each Rundeck instance, takes precedence over
+     * {@link #getMaximumSize()} when greater than 0
+     */
+    public int getMaximumWeightInKilobytes() {
+        return maximumWeightInKilobytes;
+    }
+
+    @DataBoundSetter
+    public void setMaximumWeightInKilobytes(int maximumWeightInKilobytes) {
+        this.maximumWeightInKilobytes = Math.max(0, maximumWeightInKilobytes);
+    }
+
+    public boolean isWeighted() {
+        return maximumWeightInKilobytes > 0;
+    }
+
     public int getCacheStatsDisplayHitThreshold() {
         return cacheStatsDisplayHitThreshold;
     }
 
+    @DataBoundSetter
+    public void setCacheStatsDisplayHitThreshold(int cacheStatsDisplayHitThreshold) {
+        this.cacheStatsDisplayHitThreshold = Math.max(0, cacheStatsDisplayHitThreshold);
+    }
+
+    /**
+     * @return interval between two preloads of the configured projects, 0 to only preload at startup
+     */
+    public int getPreloadIntervalInMinutes() {
+        return preloadIntervalInMinutes;
+    }
+
+    @DataBoundSetter
+    public void setPreloadIntervalInMinutes(int preloadIntervalInMinutes) {
+        this.preloadIntervalInMinutes = Math.max(0, preloadIntervalInMinutes);
+    }
+
+    /**
+     * @return age after which an entry is reloaded in the background while the current value keeps being served,
+     * 0 to disable refreshing
+     */
+    public int getRefreshAfterWriteInMinutes() {
+        return refreshAfterWriteInMinutes;
+    }
+
+    @DataBoundSetter
+    public void setRefreshAfterWriteInMinutes(int refreshAfterWriteInMinutes) {
+        this.refreshAfterWriteInMinutes = Math.max(0, refreshAfterWriteInMinutes);
+    }
+
+    /**
+     * @return time during which a job identifier that could not be resolved is not looked up again, 0 to disable
+     * negative caching
+     */
+    public int getNegativeExpirationInSeconds() {
+        return negativeExpirationInSeconds;
+    }
+
+    @DataBoundSetter
+    public void setNegativeExpirationInSeconds(int negativeExpirationInSeconds) {
+        this.negativeExpirationInSeconds = Math.max(0, negativeExpirationInSeconds);
+    }
+
     @Override
     public String toString() {
         return "RundeckJobCacheConfig{" +
                 "enabled=" + enabled +
+                ", persistent=" + persistent +
                 ", afterAccessExpirationInMinutes=" + afterAccessExpirationInMinutes +
                 ", maximumSize=" + maximumSize +
+                ", maximumWeightInKilobytes=" + maximumWeightInKilobytes +
                 ", cacheStatsDisplayHitThreshold=" + cacheStatsDisplayHitThreshold +
+                ", preloadIntervalInMinutes=" + preloadIntervalInMinutes +
+                ", refreshAfterWriteInMinutes=" + refreshAfterWriteInMinutes +
+                ", negativeExpirationInSeconds=" + negativeExpirationInSeconds +
                 '}';
     }
 }
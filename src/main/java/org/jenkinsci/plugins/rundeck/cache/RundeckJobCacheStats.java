@@ -0,0 +1,96 @@
+package org.jenkinsci.plugins.rundeck.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import static java.lang.String.format;
+
+/**
+ * Immutable snapshot of the statistics of one Rundeck job cache (jobs or job references of a Rundeck instance,
+ * unresolved jobs).
+ * <p>
+ * Counters are recorded by Caffeine with {@link java.util.concurrent.atomic.LongAdder}s, so they stay accurate with
+ * many builds hitting the cache concurrently.
+ */
+public final class RundeckJobCacheStats {
+
+    private final String name;
+    private final long size;
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTimeInNanos;
+    private final long evictionCount;
+
+    public RundeckJobCacheStats(String name, long size, long hitCount, long missCount, long loadSuccessCount,
+                                long loadFailureCount, long totalLoadTimeInNanos, long evictionCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTimeInNanos = totalLoadTimeInNanos;
+        this.evictionCount = evictionCount;
+    }
+
+    static RundeckJobCacheStats of(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new RundeckJobCacheStats(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.loadSuccessCount(), stats.loadFailureCount(), stats.totalLoadTime(), stats.evictionCount());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long getTotalLoadTimeInNanos() {
+        return totalLoadTimeInNanos;
+    }
+
+    public double getAverageLoadPenaltyInMillis() {
+        long loadCount = loadSuccessCount + loadFailureCount;
+        return loadCount == 0 ? 0.0 : totalLoadTimeInNanos / 1_000_000.0 / loadCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public String toString() {
+        return format("%s: size=%d, hits=%d, misses=%d, hitRate=%.1f%%, loads=%d, loadFailures=%d, averageLoadPenalty=%.1fms, evictions=%d",
+                name, size, hitCount, missCount, getHitRate() * 100, loadSuccessCount, loadFailureCount,
+                getAverageLoadPenaltyInMillis(), evictionCount);
+    }
+}
@@ -21,8 +21,14 @@ import java.util.Properties;
 public class RundeckClientManager implements RundeckManager {
 
     final public static Integer API_VERSION = 32;
+    private static final int RUNNING_EXECUTIONS_PAGE_SIZE = 500;
+
+    /** Shared by all the managers: identical read calls to the same server with the same credentials are coalesced */
+    private static final SingleFlight SINGLE_FLIGHT = new SingleFlight();
+
     private RundeckInstance rundeckInstance;
     private Client<RundeckApi> client;
+    private transient String singleFlightKeyPrefix;
 
     public RundeckClientManager() {
     }
@@ -38,6 +44,7 @@ public class RundeckClientManager implements RundeckManager {
 
     public void setRundeckInstance(RundeckInstance rundeckInstance) {
         this.rundeckInstance = rundeckInstance;
+        this.singleFlightKeyPrefix = null;
     }
 
     public Client<RundeckApi> getClient() {
@@ -50,32 +57,76 @@ public class RundeckClientManager implements RundeckManager {
 
     public void buildClient(){
         if(client == null){
-            RundeckClient.Builder builder = RundeckClient.builder().baseUrl(rundeckInstance.getUrl());
+            client = RundeckClientRegistry.getInstance().getClient(rundeckInstance);
+        }
 
-            if(rundeckInstance.getToken()!=null && !rundeckInstance.getToken().getPlainText().isEmpty()){
-                builder.tokenAuth(rundeckInstance.getToken().getPlainText());
-            }
-            if(!StringUtils.isEmpty(rundeckInstance.getLogin()) && !StringUtils.isEmpty(rundeckInstance.getPassword().getPlainText())){
-                builder.passwordAuth(rundeckInstance.getLogin(),rundeckInstance.getPassword().getPlainText() );
-            }
+    }
 
-            if(rundeckInstance.getApiVersion()!=null){
-                builder.apiVersion(rundeckInstance.getApiVersion());
-            }
+    /**
+     * Build a brand-new client for the given instance. Prefer {@link RundeckClientRegistry#getClient(RundeckInstance)}
+     * which shares one client per instance and credentials.
+     */
+    static Client<RundeckApi> newClient(RundeckInstance rundeckInstance){
+        RundeckClient.Builder builder = RundeckClient.builder().baseUrl(rundeckInstance.getUrl());
 
-            if(rundeckInstance.isSslCertificateTrustAllowSelfSigned()){
-                builder.insecureSSL(true);
-            }
+        if(rundeckInstance.getToken()!=null && !rundeckInstance.getToken().getPlainText().isEmpty()){
+            builder.tokenAuth(rundeckInstance.getToken().getPlainText());
+        }
+        if(!StringUtils.isEmpty(rundeckInstance.getLogin()) && !StringUtils.isEmpty(rundeckInstance.getPassword().getPlainText())){
+            builder.passwordAuth(rundeckInstance.getLogin(),rundeckInstance.getPassword().getPlainText() );
+        }
 
-            client = builder.build();
+        if(rundeckInstance.getApiVersion()!=null){
+            builder.apiVersion(rundeckInstance.getApiVersion());
         }
 
+        if(rundeckInstance.isSslCertificateTrustAllowSelfSigned()){
+            builder.insecureSSL(true);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Execute a read call, sharing it with the identical calls already in flight for the same server and credentials.
+     */
+    private <T> T coalesce(String operation, String arguments, SingleFlight.IOCall<T> call) throws IOException {
+        if (rundeckInstance == null) {
+            return call.call();
+        }
+        if (singleFlightKeyPrefix == null) {
+            singleFlightKeyPrefix = RundeckClientRegistry.ClientKey.of(rundeckInstance).asString();
+        }
+        return SINGLE_FLIGHT.execute(singleFlightKeyPrefix + '|' + operation + '|' + arguments, call);
+    }
+
+    /**
+     * Execute the call, recording whether the server answered in the {@link RundeckInstanceHealth} of the instance.
+     */
+    private <T> Response<T> execute(Call<T> call) throws IOException {
+        Response<T> response;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            if (rundeckInstance != null) {
+                RundeckInstanceHealth.getInstance().recordFailure(rundeckInstance);
+            }
+            throw e;
+        }
+        if (rundeckInstance != null) {
+            if (response.code() >= 500) {
+                RundeckInstanceHealth.getInstance().recordFailure(rundeckInstance);
+            } else {
+                RundeckInstanceHealth.getInstance().recordSuccess(rundeckInstance);
+            }
+        }
+        return response;
     }
 
     @Override
     public AbortResult abortExecution(String id) throws IOException {
         Call<AbortResult> rundeckOutputCall = client.getService().abortExecution(id);
-        Response<AbortResult> abortResultResponse = rundeckOutputCall.execute();
+        Response<AbortResult> abortResultResponse = execute(rundeckOutputCall);
         return abortResultResponse.body();
     }
 
@@ -87,7 +138,7 @@ public class RundeckClientManager implements RundeckManager {
     @Override
     public ExecOutput getOutput(String executionId, Long var2, Long var3, Long var4) throws IOException {
         Call<ExecOutput> rundeckOutputCall = client.getService().getOutput(executionId, var2, var3, var4);
-        Response<ExecOutput> execOutputResponse = rundeckOutputCall.execute();
+        Response<ExecOutput> execOutputResponse = execute(rundeckOutputCall);
         return execOutputResponse.body();
     }
 
@@ -116,8 +167,12 @@ public class RundeckClientManager implements RundeckManager {
 
     @Override
     public Execution getExecution(String id) throws IOException {
+        return coalesce("getExecution", id, () -> fetchExecution(id));
+    }
+
+    private Execution fetchExecution(String id) throws IOException {
         Call<Execution> callExecutions = client.getService().getExecution(id);
-        Response<Execution> executionResponse = callExecutions.execute();
+        Response<Execution> executionResponse = execute(callExecutions);
 
         if(executionResponse.isSuccessful()){
             return executionResponse.body();
@@ -126,6 +181,18 @@ public class RundeckClientManager implements RundeckManager {
         return null;
     }
 
+    @Override
+    public List<Execution> getRunningExecutions(String project) throws IOException {
+        Call<ExecutionList> callExecutions = client.getService().runningExecutions(project, 0, RUNNING_EXECUTIONS_PAGE_SIZE);
+        Response<ExecutionList> executionsResponse = execute(callExecutions);
+
+        if(!executionsResponse.isSuccessful() || executionsResponse.body() == null){
+            throw new IOException("Unable to list running executions of project " + project + " : " + executionsResponse.message());
+        }
+
+        return executionsResponse.body().getExecutions();
+    }
+
     @Override
     public String findJobId(String project, String name, String groupPath) throws IOException {
         JobItem job = findJob(project, name, groupPath);
@@ -138,8 +205,12 @@ public class RundeckClientManager implements RundeckManager {
 
     @Override
     public JobItem findJob(String project, String name, String groupPath) throws IOException {
+        return coalesce("findJob", project + '|' + groupPath + '|' + name, () -> fetchJob(project, name, groupPath));
+    }
+
+    private JobItem fetchJob(String project, String name, String groupPath) throws IOException {
         Call<List<JobItem>> listCall =  client.getService().listJobs(project, name, groupPath,"","");
-        Response<List<JobItem>> execute = listCall.execute();
+        Response<List<JobItem>> execute = execute(listCall);
 
         if(execute.isSuccessful()){
             List<JobItem> body = execute.body();
@@ -153,16 +224,34 @@ public class RundeckClientManager implements RundeckManager {
             }
 
             return foundJob;
-        }else{
+        }else if(execute.code()==404){
             return null;
+        }else{
+            throw new IOException("Unable to find job " + name + " in project " + project + " : " + execute.code() + " " + execute.message());
         }
     }
 
     @Override
     public JobItem getJob(String id) throws IOException {
-        Call<ScheduledJobItem>  jobCall =  client.getService().getJobInfo(id);
-        Response<ScheduledJobItem> scheduledJobItemResponse = jobCall.execute();
-        return scheduledJobItemResponse.body();
+        return coalesce("getJob", id, () -> {
+            Call<ScheduledJobItem>  jobCall =  client.getService().getJobInfo(id);
+            Response<ScheduledJobItem> scheduledJobItemResponse = execute(jobCall);
+            if(!scheduledJobItemResponse.isSuccessful() && scheduledJobItemResponse.code()!=404){
+                throw new IOException("Unable to get job " + id + " : " + scheduledJobItemResponse.code() + " " + scheduledJobItemResponse.message());
+            }
+            return scheduledJobItemResponse.body();
+        });
+    }
+
+    @Override
+    public List<JobItem> listJobs(String project) throws IOException {
+        Call<List<JobItem>> listCall = client.getService().listJobs(project, null, null, null, null);
+        Response<List<JobItem>> execute = execute(listCall);
+
+        if(!execute.isSuccessful() || execute.body() == null){
+            throw new IOException("Unable to list the jobs of project " + project + " : " + execute.message());
+        }
+        return execute.body();
     }
 
     @Override
@@ -179,7 +268,7 @@ public class RundeckClientManager implements RundeckManager {
         jobRun.setOptions(inputOptions);
         jobRun.setFilter(nodeFilterValues);
         Call<Execution> callExecutions = client.getService().runJob(jobId, jobRun);
-        Response<Execution> executionResponse = callExecutions.execute();
+        Response<Execution> executionResponse = execute(callExecutions);
 
         if(!executionResponse.isSuccessful()){
             throw new AbortException("Error running the job : " + executionResponse.message());
@@ -192,7 +281,7 @@ public class RundeckClientManager implements RundeckManager {
 
     @Override
     public boolean ping() throws IOException {
-        Response<ResponseBody> result = client.getService().getPing().execute();
+        Response<ResponseBody> result = execute(client.getService().getPing());
         if(result.isSuccessful()){
             return true;
         }
@@ -201,7 +290,7 @@ public class RundeckClientManager implements RundeckManager {
 
     @Override
     public boolean testAuth() throws IOException {
-        Response<SystemInfo> result = client.getService().systemInfo().execute();
+        Response<SystemInfo> result = execute(client.getService().systemInfo());
         if(result.isSuccessful()){
             return true;
         }
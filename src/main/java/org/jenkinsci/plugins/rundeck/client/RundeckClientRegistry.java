@@ -0,0 +1,175 @@
+package org.jenkinsci.plugins.rundeck.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import hudson.Util;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import org.jenkinsci.plugins.rundeck.RundeckInstance;
+import org.rundeck.client.api.RundeckApi;
+import org.rundeck.client.util.Client;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Registry of shared Rundeck API clients. Each {@link Client} (and therefore its OkHttp connection pool and dispatcher)
+ * is built once per instance name, URL, credential fingerprint and API version, and reused by every
+ * {@link RundeckClientManager} created for the same key. Clients which are not used for a while are evicted, and the
+ * threads and connections of evicted or invalidated clients are released.
+ */
+public class RundeckClientRegistry {
+
+    private static final Logger log = Logger.getLogger(RundeckClientRegistry.class.getName());
+
+    private static final int IDLE_CLIENT_EXPIRATION_IN_MINUTES = 30;
+
+    private static final RundeckClientRegistry INSTANCE = new RundeckClientRegistry();
+
+    private final Cache<ClientKey, Client<RundeckApi>> clients = Caffeine.newBuilder()
+            .expireAfterAccess(IDLE_CLIENT_EXPIRATION_IN_MINUTES, TimeUnit.MINUTES)
+            .executor(Runnable::run)
+            .removalListener(RundeckClientRegistry::close)
+            .build();
+
+    RundeckClientRegistry() {
+    }
+
+    public static RundeckClientRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Return the shared client for the given instance, building it on first use.
+     *
+     * @param rundeckInstance instance holding the URL, credentials and API version
+     * @return a shared client
+     */
+    public Client<RundeckApi> getClient(RundeckInstance rundeckInstance) {
+        return clients.get(ClientKey.of(rundeckInstance), key -> {
+            log.fine(format("Building Rundeck client for %s", key));
+            return RundeckClientManager.newClient(rundeckInstance);
+        });
+    }
+
+    /**
+     * Drop every client registered for the given Rundeck instance name.
+     */
+    public void invalidate(String rundeckInstanceName) {
+        clients.asMap().keySet().removeIf(key -> Objects.equals(key.name, rundeckInstanceName));
+    }
+
+    /**
+     * Drop all registered clients, e.g. after the global configuration has been saved.
+     */
+    public void invalidateAll() {
+        log.fine("Rundeck client registry invalidation");
+        clients.invalidateAll();
+    }
+
+    /**
+     * Release the dispatcher threads and the idle connections of a client which is no longer registered. Calls still
+     * running on it are synchronous and keep working: they do not need the dispatcher, and their connection is not idle.
+     */
+    static void close(ClientKey key, Client<RundeckApi> client, RemovalCause cause) {
+        if (client == null || client.getRetrofit() == null) {
+            return;
+        }
+        Call.Factory callFactory = client.getRetrofit().callFactory();
+        if (callFactory instanceof OkHttpClient) {
+            log.fine(format("Closing Rundeck client for %s (%s)", key, cause));
+            OkHttpClient httpClient = (OkHttpClient) callFactory;
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
+        }
+    }
+
+    /**
+     * @return the identity of the client of the given instance, which holds a digest of the credentials instead of
+     * the credentials themselves
+     */
+    public static String keyOf(RundeckInstance rundeckInstance) {
+        return ClientKey.of(rundeckInstance).asString();
+    }
+
+    public long size() {
+        return clients.estimatedSize();
+    }
+
+    /**
+     * Identity of a client: two instances with the same key can safely share one client.
+     */
+    static final class ClientKey {
+
+        private final String name;
+        private final String url;
+        private final String credentialFingerprint;
+        private final Integer apiVersion;
+        private final boolean insecureSsl;
+
+        private ClientKey(String name, String url, String credentialFingerprint, Integer apiVersion, boolean insecureSsl) {
+            this.name = name;
+            this.url = url;
+            this.credentialFingerprint = credentialFingerprint;
+            this.apiVersion = apiVersion;
+            this.insecureSsl = insecureSsl;
+        }
+
+        static ClientKey of(RundeckInstance instance) {
+            return new ClientKey(instance.getName(), instance.getUrl(), fingerprint(instance),
+                    instance.getApiVersion(), instance.isSslCertificateTrustAllowSelfSigned());
+        }
+
+        /**
+         * Digest of the credentials, so that secrets are never kept as plain text in the keys.
+         */
+        static String fingerprint(RundeckInstance instance) {
+            String credentials = Util.fixNull(instance.getLogin()) + '\n'
+                    + Util.fixNull(instance.getPasswordPlainText()) + '\n'
+                    + Util.fixNull(instance.getTokenPlainText());
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                return Util.toHexString(digest.digest(credentials.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        String asString() {
+            return name + '|' + url + '|' + credentialFingerprint + '|' + apiVersion + '|' + insecureSsl;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return insecureSsl == that.insecureSsl
+                    && Objects.equals(name, that.name)
+                    && Objects.equals(url, that.url)
+                    && Objects.equals(credentialFingerprint, that.credentialFingerprint)
+                    && Objects.equals(apiVersion, that.apiVersion);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, url, credentialFingerprint, apiVersion, insecureSsl);
+        }
+
+        @Override
+        public String toString() {
+            return "ClientKey{name='" + name + "', url='" + url + "', apiVersion=" + apiVersion + '}';
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.jenkinsci.plugins.rundeck.client;
+
+import org.jenkinsci.plugins.rundeck.RundeckInstance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Tracks the outcome of the last calls made to each Rundeck instance, so that the connectivity check done before
+ * notifying Rundeck can be skipped while the instance is known to be answering: the next API call would report a
+ * failure anyway. An instance is pinged again when its last call failed, or when it was not called for a while.
+ */
+public class RundeckInstanceHealth {
+
+    private static final Logger log = Logger.getLogger(RundeckInstanceHealth.class.getName());
+
+    static final long IDLE_THRESHOLD_IN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final RundeckInstanceHealth INSTANCE = new RundeckInstanceHealth(IDLE_THRESHOLD_IN_MILLIS, System::currentTimeMillis);
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    private final long idleThresholdInMillis;
+
+    private final LongSupplier clock;
+
+    RundeckInstanceHealth(long idleThresholdInMillis, LongSupplier clock) {
+        this.idleThresholdInMillis = idleThresholdInMillis;
+        this.clock = clock;
+    }
+
+    public static RundeckInstanceHealth getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true if the instance has never been called, its last call failed or it has been idle for too long
+     */
+    public boolean needsPing(RundeckInstance rundeckInstance) {
+        State state = states.get(keyOf(rundeckInstance));
+        if (state == null || !state.healthy) {
+            return true;
+        }
+        return clock.getAsLong() - state.lastSuccessAt > idleThresholdInMillis;
+    }
+
+    public void recordSuccess(RundeckInstance rundeckInstance) {
+        String key = keyOf(rundeckInstance);
+        State state = states.computeIfAbsent(key, k -> new State());
+        if (!state.healthy) {
+            log.fine(format("Rundeck instance %s is answering", key));
+        }
+        state.lastSuccessAt = clock.getAsLong();
+        state.healthy = true;
+    }
+
+    public void recordFailure(RundeckInstance rundeckInstance) {
+        String key = keyOf(rundeckInstance);
+        State state = states.computeIfAbsent(key, k -> new State());
+        if (state.healthy) {
+            log.fine(format("Rundeck instance %s is not answering properly", key));
+        }
+        state.healthy = false;
+    }
+
+    /**
+     * Forget the state of every instance, e.g. after the global configuration has been saved.
+     */
+    public void invalidateAll() {
+        states.clear();
+    }
+
+    private static String keyOf(RundeckInstance rundeckInstance) {
+        return rundeckInstance.getName() + '|' + rundeckInstance.getUrl();
+    }
+
+    private static final class State {
+        private volatile boolean healthy;
+        private volatile long lastSuccessAt;
+    }
+}
@@ -7,6 +7,7 @@ import org.rundeck.client.api.model.Execution;
 import org.rundeck.client.api.model.JobItem;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Properties;
 
 public interface RundeckManager {
@@ -18,12 +19,28 @@ public interface RundeckManager {
 
     Execution getExecution(String id) throws IOException;
 
+    List<Execution> getRunningExecutions(String project) throws IOException;
+
+    /**
+     * @return the id of the job, null if Rundeck does not know it
+     * @throws IOException if Rundeck could not be reached or answered with an error other than "not found"
+     */
     String findJobId(String project, String name, String groupPath) throws IOException;
 
+    /**
+     * @return the job, null if Rundeck does not know it
+     * @throws IOException if Rundeck could not be reached or answered with an error other than "not found"
+     */
     JobItem findJob(String project, String name, String groupPath) throws IOException;
 
+    /**
+     * @return the job, null if Rundeck does not know it
+     * @throws IOException if Rundeck could not be reached or answered with an error other than "not found"
+     */
     JobItem getJob(String id) throws IOException;
 
+    List<JobItem> listJobs(String project) throws IOException;
+
     Execution runExecution(String jobId, Properties options, Properties nodeFilters) throws IOException;
 
     boolean ping() throws IOException;
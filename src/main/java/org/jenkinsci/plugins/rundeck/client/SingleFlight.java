@@ -0,0 +1,106 @@
+package org.jenkinsci.plugins.rundeck.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces concurrent identical calls: while a call for a given key is in flight, other callers asking for the same
+ * key wait for it and share its result (or its failure) instead of issuing their own call. Nothing is cached once the
+ * call is over.
+ * <p>
+ * An interruption only concerns the thread which was interrupted: when the call fails because of it, the waiting
+ * callers are not failed but retry, one of them issuing the call again.
+ */
+public final class SingleFlight {
+
+    /**
+     * A call which may fail with an {@link IOException}, like Rundeck API calls.
+     */
+    public interface IOCall<T> {
+        T call() throws IOException;
+    }
+
+    /** Result shared with the waiting callers when they have to retry the call themselves */
+    private static final Object RETRY = new Object();
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Execute the call, unless an identical call is already in flight in which case its result is returned.
+     *
+     * @param key identity of the call, including the target server, credentials and arguments
+     * @param call the call to execute
+     * @return the result of the call, possibly executed by another thread
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, IOCall<T> call) throws IOException {
+        while (true) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                Object result = await(existing);
+                if (result == RETRY) {
+                    continue;
+                }
+                return (T) result;
+            }
+            T result;
+            try {
+                result = call.call();
+            } catch (Throwable t) {
+                // removed first, so that retrying callers do not find the failed call again
+                inFlight.remove(key, future);
+                if (isInterruption(t)) {
+                    future.complete(RETRY);
+                } else {
+                    future.completeExceptionally(t);
+                }
+                throw t;
+            }
+            inFlight.remove(key, future);
+            future.complete(result);
+            return result;
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static boolean isInterruption(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            // a timeout is also an InterruptedIOException, but it is worth sharing
+            if (cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException)
+                    || cause instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an identical Rundeck call");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                // new exception, so that each caller gets its own stack trace
+                throw new IOException(cause.getMessage(), cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.jenkinsci.plugins.rundeck.polling;
+
+/**
+ * Uses the average duration of the Rundeck job to estimate when the execution will finish : polls rarely while the
+ * end is far away and more often when it gets close. Once the estimate is exceeded, or if the job has no average
+ * duration yet, it behaves like the given fallback strategy.
+ */
+public class EtaPollingStrategy implements PollingStrategy {
+
+    private final Long averageDurationInMillis;
+
+    private final long minimumDelayInMillis;
+
+    private final long maximumDelayInMillis;
+
+    private final PollingStrategy fallback;
+
+    public EtaPollingStrategy(Long averageDurationInMillis, long minimumDelayInMillis, long maximumDelayInMillis,
+                              PollingStrategy fallback) {
+        this.averageDurationInMillis = averageDurationInMillis;
+        this.minimumDelayInMillis = minimumDelayInMillis;
+        this.maximumDelayInMillis = maximumDelayInMillis;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public long getDelayInMillis(int pollCount, long elapsedInMillis) {
+        if (averageDurationInMillis == null || averageDurationInMillis <= 0 || elapsedInMillis >= averageDurationInMillis) {
+            return fallback.getDelayInMillis(pollCount, elapsedInMillis);
+        }
+        // wait half of the remaining time, so that we get closer to the estimate with each poll
+        long halfRemaining = (averageDurationInMillis - elapsedInMillis) / 2;
+        return Math.max(minimumDelayInMillis, Math.min(maximumDelayInMillis, halfRemaining));
+    }
+
+    @Override
+    public String toString() {
+        return "EtaPollingStrategy{averageDurationInMillis=" + averageDurationInMillis +
+                ", minimumDelayInMillis=" + minimumDelayInMillis +
+                ", maximumDelayInMillis=" + maximumDelayInMillis +
+                ", fallback=" + fallback + '}';
+    }
+}
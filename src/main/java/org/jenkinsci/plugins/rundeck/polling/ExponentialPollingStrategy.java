@@ -0,0 +1,33 @@
+package org.jenkinsci.plugins.rundeck.polling;
+
+/**
+ * Starts polling quickly, then doubles the delay after each poll up to a maximum. Short executions are seen
+ * finishing almost immediately while long ones only generate a few requests.
+ */
+public class ExponentialPollingStrategy implements PollingStrategy {
+
+    private final long initialDelayInMillis;
+
+    private final long maximumDelayInMillis;
+
+    public ExponentialPollingStrategy(long initialDelayInMillis, long maximumDelayInMillis) {
+        this.initialDelayInMillis = initialDelayInMillis;
+        this.maximumDelayInMillis = maximumDelayInMillis;
+    }
+
+    @Override
+    public long getDelayInMillis(int pollCount, long elapsedInMillis) {
+        int shift = Math.min(pollCount, 30);
+        long delay = initialDelayInMillis << shift;
+        if (delay <= 0 || delay > maximumDelayInMillis) {
+            return maximumDelayInMillis;
+        }
+        return delay;
+    }
+
+    @Override
+    public String toString() {
+        return "ExponentialPollingStrategy{initialDelayInMillis=" + initialDelayInMillis +
+                ", maximumDelayInMillis=" + maximumDelayInMillis + '}';
+    }
+}
@@ -0,0 +1,23 @@
+package org.jenkinsci.plugins.rundeck.polling;
+
+/**
+ * Polls at a fixed interval.
+ */
+public class FixedPollingStrategy implements PollingStrategy {
+
+    private final long delayInMillis;
+
+    public FixedPollingStrategy(long delayInMillis) {
+        this.delayInMillis = delayInMillis;
+    }
+
+    @Override
+    public long getDelayInMillis(int pollCount, long elapsedInMillis) {
+        return delayInMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "FixedPollingStrategy{delayInMillis=" + delayInMillis + '}';
+    }
+}
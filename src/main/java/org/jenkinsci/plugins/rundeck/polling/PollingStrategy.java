@@ -0,0 +1,14 @@
+package org.jenkinsci.plugins.rundeck.polling;
+
+/**
+ * Strategy deciding how long to wait before polling a running Rundeck execution again.
+ */
+public interface PollingStrategy {
+
+    /**
+     * @param pollCount number of polls already done for the execution (starts at 0)
+     * @param elapsedInMillis time elapsed since the execution started to be watched
+     * @return the delay before the next poll, in milliseconds
+     */
+    long getDelayInMillis(int pollCount, long elapsedInMillis);
+}
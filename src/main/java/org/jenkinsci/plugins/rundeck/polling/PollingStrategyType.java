@@ -0,0 +1,61 @@
+package org.jenkinsci.plugins.rundeck.polling;
+
+import java.util.Locale;
+
+/**
+ * The available {@link PollingStrategy} implementations, as selectable in the notifier and global configuration.
+ */
+public enum PollingStrategyType {
+
+    FIXED("Fixed (every 5 seconds)"),
+    EXPONENTIAL("Exponential backoff (1 second up to 1 minute)"),
+    ETA("Based on the job average duration");
+
+    public static final long FIXED_DELAY_IN_MILLIS = 5000;
+
+    static final long MINIMUM_DELAY_IN_MILLIS = 1000;
+
+    static final long MAXIMUM_DELAY_IN_MILLIS = 60000;
+
+    private final String displayName;
+
+    PollingStrategyType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @param averageDurationInMillis average duration of the Rundeck job, if known (only used by {@link #ETA})
+     * @return a new strategy of this type
+     */
+    public PollingStrategy create(Long averageDurationInMillis) {
+        switch (this) {
+            case EXPONENTIAL:
+                return new ExponentialPollingStrategy(MINIMUM_DELAY_IN_MILLIS, MAXIMUM_DELAY_IN_MILLIS);
+            case ETA:
+                return new EtaPollingStrategy(averageDurationInMillis, MINIMUM_DELAY_IN_MILLIS, MAXIMUM_DELAY_IN_MILLIS,
+                        new ExponentialPollingStrategy(MINIMUM_DELAY_IN_MILLIS, MAXIMUM_DELAY_IN_MILLIS));
+            case FIXED:
+            default:
+                return new FixedPollingStrategy(FIXED_DELAY_IN_MILLIS);
+        }
+    }
+
+    /**
+     * @param name name of a type, may be blank or unknown
+     * @return the matching type, or null
+     */
+    public static PollingStrategyType fromName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
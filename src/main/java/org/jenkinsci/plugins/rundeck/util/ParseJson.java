@@ -2,21 +2,54 @@ package org.jenkinsci.plugins.rundeck.util;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import org.jsoup.Jsoup;
 import org.jsoup.safety.Safelist;
 
+import java.io.EOFException;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class ParseJson {
 
+    private static final Set<String> DATE_FIELDS = new HashSet<>(Arrays.asList("unixtime", "date"));
+
+    private static final Set<String> JOB_FIELDS = new HashSet<>(Arrays.asList(
+            "id", "name", "group", "project", "description", "href", "permalink"));
+
+    /** Fields of an execution read by ExecutionData and RundeckCause */
+    private static final Set<String> EXECUTION_FIELDS = new HashSet<>(Arrays.asList(
+            "id", "href", "permalink", "status", "project", "user", "description", "argstring", "serverUUID",
+            "successfulNodes", "failedNodes", "job", "dateStarted", "dateEnded"));
+
+    /** Fields of the nested objects which are kept */
+    private static final Map<String, Set<String>> NESTED_FIELDS = new HashMap<>();
+
+    static {
+        NESTED_FIELDS.put("job", JOB_FIELDS);
+        NESTED_FIELDS.put("dateStarted", DATE_FIELDS);
+        NESTED_FIELDS.put("dateEnded", DATE_FIELDS);
+    }
+
     public static JsonElement clean(JsonElement elem) {
         if (elem.isJsonPrimitive()) {
             JsonPrimitive primitive = elem.getAsJsonPrimitive();
             if(primitive.isString()) {
-                String cleaned = Jsoup.clean(primitive.getAsString(), Safelist.none());
-                return new JsonPrimitive(cleaned);
+                return new JsonPrimitive(cleanString(primitive.getAsString()));
             } else {
                 return primitive;
             }
@@ -30,10 +63,144 @@ public class ParseJson {
             JsonObject obj = elem.getAsJsonObject();
             JsonObject clean = new JsonObject();
             for(Map.Entry<String, JsonElement> entry :  obj.entrySet()) {
-                clean.add(Jsoup.clean(entry.getKey(), Safelist.none()), clean(entry.getValue()));
+                clean.add(cleanString(entry.getKey()), clean(entry.getValue()));
             }
             return clean;
         }
     }
 
+    /**
+     * Remove any markup from the given text. Text without markup characters is returned as is, without parsing it.
+     */
+    public static String cleanString(String value) {
+        if (value.indexOf('<') < 0 && value.indexOf('&') < 0) {
+            return value;
+        }
+        return Jsoup.clean(value, Safelist.none());
+    }
+
+    /**
+     * Read a Rundeck execution notification in a single pass, keeping only the fields of the execution which are
+     * used, with their string values cleaned. Other fields are skipped without being materialized.
+     *
+     * @param reader lenient JSON source
+     * @param maxLength maximum number of characters read
+     * @return the cleaned execution, to be bound with Gson
+     * @throws JsonSyntaxException if the source is not a JSON object
+     * @throws PayloadTooLargeException if the source is longer than maxLength
+     */
+    public static JsonObject readExecution(Reader reader, long maxLength) throws IOException {
+        JsonReader jsonReader = new JsonReader(new LimitedReader(reader, maxLength));
+        jsonReader.setLenient(true);
+        try {
+            if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new JsonSyntaxException("Expected a JSON object but was " + jsonReader.peek() + " at path " + jsonReader.getPath());
+            }
+            JsonObject execution = readObject(jsonReader, EXECUTION_FIELDS);
+            if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("JSON document was not fully consumed");
+            }
+            return execution;
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static JsonObject readObject(JsonReader reader, Set<String> fields) throws IOException {
+        JsonObject object = new JsonObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (!fields.contains(name)) {
+                reader.skipValue();
+                continue;
+            }
+            object.add(name, readValue(reader, NESTED_FIELDS.getOrDefault(name, Collections.emptySet())));
+        }
+        reader.endObject();
+        return object;
+    }
+
+    /**
+     * @param fields kept fields if the value is an object
+     */
+    private static JsonElement readValue(JsonReader reader, Set<String> fields) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+                return new JsonPrimitive(cleanString(reader.nextString()));
+            case NUMBER:
+                return new JsonPrimitive(new BigDecimal(reader.nextString()));
+            case BOOLEAN:
+                return new JsonPrimitive(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return JsonNull.INSTANCE;
+            case BEGIN_ARRAY:
+                JsonArray array = new JsonArray();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    array.add(readValue(reader, Collections.emptySet()));
+                }
+                reader.endArray();
+                return array;
+            case BEGIN_OBJECT:
+                if (fields.isEmpty()) {
+                    reader.skipValue();
+                    return JsonNull.INSTANCE;
+                }
+                return readObject(reader, fields);
+            default:
+                throw new JsonSyntaxException("Unexpected " + reader.peek() + " at path " + reader.getPath());
+        }
+    }
+
+    /**
+     * Thrown when the JSON source is longer than allowed.
+     */
+    public static class PayloadTooLargeException extends IOException {
+
+        public PayloadTooLargeException(long maxLength) {
+            super("Payload larger than " + maxLength + " characters");
+        }
+    }
+
+    /**
+     * Fails as soon as more than the given number of characters have been read.
+     */
+    private static final class LimitedReader extends FilterReader {
+
+        private final long maxLength;
+
+        private long length;
+
+        private LimitedReader(Reader in, long maxLength) {
+            super(in);
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c >= 0) {
+                count(1);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            int read = super.read(cbuf, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) throws PayloadTooLargeException {
+            length += read;
+            if (length > maxLength) {
+                throw new PayloadTooLargeException(maxLength);
+            }
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.ExecLogFormatter
+import org.rundeck.client.api.model.ExecLog
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class ExecLogFormatterSpec extends Specification {
+
+    ExecLog createEntry(String log){
+        ExecLog entry = new ExecLog(log)
+        entry.node = "node1"
+        entry.time = "10:00:00"
+        entry.level = "NORMAL"
+        return entry
+    }
+
+    def "default format matches the previous line layout"(){
+        given:
+        def bytes = new ByteArrayOutputStream()
+        def formatter = new ExecLogFormatter(new PrintStream(bytes), null, StandardCharsets.UTF_8)
+
+        when:
+        def written = formatter.print(createEntry("hello"))
+
+        then:
+        bytes.toString("UTF-8") == "[node1] [10:00:00] [NORMAL] hello" + System.lineSeparator()
+        written == bytes.size()
+    }
+
+    def "custom format and long non ascii lines"(){
+        given:
+        def bytes = new ByteArrayOutputStream()
+        def formatter = new ExecLogFormatter(new PrintStream(bytes), "{level}: {log}", StandardCharsets.UTF_8)
+        def longLog = "é" * 1000
+
+        when:
+        formatter.print(createEntry("first"))
+        formatter.print(createEntry(longLog))
+
+        then:
+        bytes.toString("UTF-8") == "NORMAL: first" + System.lineSeparator() + "NORMAL: " + longLog + System.lineSeparator()
+    }
+}
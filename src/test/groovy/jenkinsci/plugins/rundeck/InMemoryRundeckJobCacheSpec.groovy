@@ -0,0 +1,227 @@
+package jenkinsci.plugins.rundeck
+
+import com.github.benmanes.caffeine.cache.Ticker
+import hudson.util.Secret
+import org.jenkinsci.plugins.rundeck.RundeckInstance
+import org.jenkinsci.plugins.rundeck.cache.InMemoryRundeckJobCache
+import org.jenkinsci.plugins.rundeck.cache.RundeckJobCacheConfig
+import org.jenkinsci.plugins.rundeck.client.RundeckManager
+import org.rundeck.client.api.model.JobItem
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+
+class InMemoryRundeckJobCacheSpec extends Specification {
+
+    RundeckManager client = Mock(RundeckManager) {
+        getRundeckInstance() >> new RundeckInstance("Default", "http://localhost:4440")
+    }
+
+    def "job references are resolved once then served from the cache"(){
+        given:
+        def cache = new InMemoryRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues())
+
+        when:
+        def first = cache.findJobIdByReference("project", "group", "job", "Default", client)
+        def second = cache.findJobIdByReference("project", "group", "job", "Default", client)
+
+        then:
+        1 * client.findJobId("project", "job", "group") >> "job-uuid"
+        first == "job-uuid"
+        second == "job-uuid"
+    }
+
+    def "job references are cached per Rundeck instance"(){
+        given:
+        def cache = new InMemoryRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues())
+
+        when:
+        cache.findJobIdByReference("project", "group", "job", "Default", client)
+        cache.findJobIdByReference("project", "group", "job", "Other", client)
+
+        then:
+        2 * client.findJobId("project", "job", "group") >> "job-uuid"
+    }
+
+    def "preloading a project fills the job and job reference indexes"(){
+        given:
+        def cache = new InMemoryRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues())
+        client.listJobs("project") >> [job("uuid-1", "group", "job1"), job("uuid-2", null, "job2")]
+
+        when:
+        def loaded = cache.preloadProject("project", "Default", client)
+        def byReference = cache.findJobIdByReference("project", null, "job2", "Default", client)
+        def byId = cache.findJobById("uuid-1", "Default", client)
+
+        then:
+        loaded == 2
+        byReference == "uuid-2"
+        byId.name == "job1"
+        0 * client.findJobId(_, _, _)
+        0 * client.getJob(_)
+    }
+
+    def "a failed preload leaves the cache empty"(){
+        given:
+        def cache = new InMemoryRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues())
+        client.listJobs("project") >> { throw new IOException("Unable to list the jobs") }
+
+        when:
+        cache.preloadProject("project", "Default", client)
+
+        then:
+        thrown(IOException)
+        cache.stats.every { it.size == 0 }
+    }
+
+    def "entries are reloaded once the refresh interval has elapsed"(){
+        given:
+        def cache = refreshingCache()
+
+        when:
+        def first = cache.findJobIdByReference("project", "group", "job", "Default", client)
+        nanos += TimeUnit.MINUTES.toNanos(11)
+        cache.findJobIdByReference("project", "group", "job", "Default", client)
+        def refreshed = cache.findJobIdByReference("project", "group", "job", "Default", client)
+
+        then:
+        2 * client.findJobId("project", "job", "group") >>> ["uuid-1", "uuid-2"]
+        first == "uuid-1"
+        refreshed == "uuid-2"
+    }
+
+    def "a failed reload keeps the cached entry"(){
+        given:
+        def cache = refreshingCache()
+
+        when:
+        cache.findJobIdByReference("project", "group", "job", "Default", client)
+        nanos += TimeUnit.MINUTES.toNanos(11)
+        cache.findJobIdByReference("project", "group", "job", "Default", client)
+        def afterFailure = cache.findJobIdByReference("project", "group", "job", "Default", client)
+
+        then:
+        (2.._) * client.findJobId("project", "job", "group") >>> ["uuid-1"] >> { throw new IOException("Rundeck is down") }
+        afterFailure == "uuid-1"
+    }
+
+    def "entries are reloaded with the credentials which can see them"(){
+        given:
+        def cache = refreshingCache()
+        def otherClient = Mock(RundeckManager) {
+            getRundeckInstance() >> instanceWithToken("other-token")
+        }
+        def ownerClient = Mock(RundeckManager) {
+            getRundeckInstance() >> instanceWithToken("owner-token")
+        }
+        ownerClient.findJobId("project", "job", "group") >> "uuid-1"
+        otherClient.findJobId("project", "job", "group") >> null
+        otherClient.findJobId("project", "other", "group") >> "uuid-2"
+
+        when:
+        cache.findJobIdByReference("project", "group", "job", "Default", ownerClient)
+        cache.findJobIdByReference("project", "group", "other", "Default", otherClient)
+        nanos += TimeUnit.MINUTES.toNanos(11)
+        cache.findJobIdByReference("project", "group", "job", "Default", otherClient)
+        def afterRefresh = cache.findJobIdByReference("project", "group", "job", "Default", otherClient)
+
+        then:
+        afterRefresh == "uuid-1"
+    }
+
+    def "unknown jobs are not looked up again until the negative entry expires"(){
+        given:
+        def cache = new InMemoryRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues(), { nanos } as Ticker, { it.run() } as Executor)
+
+        when:
+        def first = cache.findJobById("missing", "Default", client)
+        def second = cache.findJobById("missing", "Default", client)
+
+        then:
+        1 * client.getJob("missing") >> null
+        first == null
+        second == null
+
+        when:
+        nanos += TimeUnit.SECONDS.toNanos(61)
+        cache.findJobById("missing", "Default", client)
+
+        then:
+        1 * client.getJob("missing") >> null
+    }
+
+    def "lookup errors are remembered and thrown again"(){
+        given:
+        def cache = new InMemoryRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues())
+
+        when:
+        cache.findJobIdByReference("project", "group", "job", "Default", client)
+
+        then:
+        1 * client.findJobId("project", "job", "group") >> { throw new IOException("Rundeck is down") }
+        thrown(IOException)
+
+        when:
+        cache.findJobIdByReference("project", "group", "job", "Default", client)
+
+        then:
+        0 * client.findJobId(_, _, _)
+        IOException e = thrown()
+        e.message == "Rundeck is down"
+        cache.stats.find { it.name == "Negative" }.hitCount == 1
+    }
+
+    def "negative caching can be disabled"(){
+        given:
+        def config = RundeckJobCacheConfig.initializeWithDefaultValues()
+        config.setNegativeExpirationInSeconds(0)
+        def cache = new InMemoryRundeckJobCache(config)
+
+        when:
+        cache.findJobById("missing", "Default", client)
+        cache.findJobById("missing", "Default", client)
+
+        then:
+        2 * client.getJob("missing") >> null
+    }
+
+    def "preloaded jobs replace their negative entries"(){
+        given:
+        def cache = new InMemoryRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues())
+        client.findJobId("project", "job1", "group") >> null
+        client.listJobs("project") >> [job("uuid-1", "group", "job1")]
+
+        when:
+        def before = cache.findJobIdByReference("project", "group", "job1", "Default", client)
+        cache.preloadProject("project", "Default", client)
+        def after = cache.findJobIdByReference("project", "group", "job1", "Default", client)
+
+        then:
+        before == null
+        after == "uuid-1"
+    }
+
+    long nanos = 0
+
+    InMemoryRundeckJobCache refreshingCache(){
+        def config = RundeckJobCacheConfig.initializeWithDefaultValues()
+        config.setRefreshAfterWriteInMinutes(10)
+        return new InMemoryRundeckJobCache(config, { nanos } as Ticker, { it.run() } as Executor)
+    }
+
+    RundeckInstance instanceWithToken(String token){
+        RundeckInstance instance = new RundeckInstance("Default", "http://localhost:4440")
+        instance.setToken(Secret.fromString(token))
+        return instance
+    }
+
+    JobItem job(String id, String group, String name){
+        JobItem job = new JobItem()
+        job.setId(id)
+        job.setGroup(group)
+        job.setName(name)
+        job.setProject("project")
+        return job
+    }
+}
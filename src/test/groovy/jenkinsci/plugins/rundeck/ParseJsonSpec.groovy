@@ -0,0 +1,48 @@
+package jenkinsci.plugins.rundeck
+
+import com.google.gson.JsonSyntaxException
+import org.jenkinsci.plugins.rundeck.util.ParseJson
+import spock.lang.Specification
+
+class ParseJsonSpec extends Specification {
+
+    def "only the used fields are kept and their markup is removed"(){
+        when:
+        def execution = ParseJson.readExecution(new StringReader(
+                "{id: 123, status: 'succeeded', extra: {nested: [1, 2]}, " +
+                "job: {id: 'uuid', name: '<script>alert(1)</script>Demo', options: {a: 'b'}}, " +
+                "dateStarted: {unixtime: 1609459200000, date: '2021-01-01T00:00:00Z'}, successfulNodes: ['node1']}"), 10000)
+
+        then:
+        execution.keySet() == ["id", "status", "job", "dateStarted", "successfulNodes"] as Set
+        execution.get("id").getAsString() == "123"
+        execution.getAsJsonObject("job").keySet() == ["id", "name"] as Set
+        execution.getAsJsonObject("job").get("name").getAsString() == "Demo"
+        execution.getAsJsonObject("dateStarted").get("unixtime").getAsLong() == 1609459200000L
+    }
+
+    def "text without markup characters is returned as is"(){
+        expect:
+        ParseJson.cleanString("plain text") == "plain text"
+        ParseJson.cleanString("<b>bold</b>") == "bold"
+    }
+
+    def "non object payloads are rejected"(){
+        when:
+        ParseJson.readExecution(new StringReader(payload), 10000)
+
+        then:
+        thrown(JsonSyntaxException)
+
+        where:
+        payload << ["<?xml version=\"1.0\"?>\n{}", "", "[1]", "{} {}"]
+    }
+
+    def "oversized payloads are rejected while reading"(){
+        when:
+        ParseJson.readExecution(new StringReader("{description: '" + ("a" * 20000) + "'}"), 10000)
+
+        then:
+        thrown(ParseJson.PayloadTooLargeException)
+    }
+}
@@ -0,0 +1,142 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.RundeckInstance
+import org.jenkinsci.plugins.rundeck.cache.PersistentRundeckJobCache
+import org.jenkinsci.plugins.rundeck.cache.RundeckJobCacheConfig
+import org.jenkinsci.plugins.rundeck.client.RundeckManager
+import org.rundeck.client.api.model.JobItem
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.util.concurrent.Executor
+
+class PersistentRundeckJobCacheSpec extends Specification {
+
+    RundeckManager client = Mock(RundeckManager) {
+        getRundeckInstance() >> new RundeckInstance("Default", "http://localhost:4440")
+    }
+
+    File cacheFile = new File(Files.createTempDirectory("rundeck-job-cache").toFile(), PersistentRundeckJobCache.CACHE_FILE_NAME)
+
+    def "saved entries are restored and served without asking Rundeck"(){
+        given:
+        def cache = persistentCache()
+        client.listJobs("project") >> [job("uuid-1", "group", "job1")]
+        cache.preloadProject("project", "Default", client)
+        cache.save()
+        cache.close()
+
+        when:
+        def restored = new PersistentRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues(), cacheFile, { } as Executor)
+        def jobId = restored.findJobIdByReference("project", "group", "job1", "Default", client)
+        def job = restored.findJobById("uuid-1", "Default", client)
+
+        then:
+        jobId == "uuid-1"
+        job.name == "job1"
+        0 * client.findJobId(_, _, _)
+        0 * client.getJob(_)
+    }
+
+    def "restored entries are validated against Rundeck on their first use"(){
+        given:
+        saveEntry()
+        def restored = persistentCache()
+
+        when:
+        def jobId = restored.findJobIdByReference("project", "group", "job1", "Default", client)
+
+        then:
+        1 * client.findJobId("project", "job1", "group") >> "uuid-2"
+        jobId == "uuid-2"
+
+        when:
+        restored.findJobIdByReference("project", "group", "job1", "Default", client)
+
+        then:
+        0 * client.findJobId(_, _, _)
+    }
+
+    def "restored entries are kept when they cannot be validated"(){
+        given:
+        saveEntry()
+        def restored = persistentCache()
+
+        when:
+        def jobId = restored.findJobIdByReference("project", "group", "job1", "Default", client)
+
+        then:
+        1 * client.findJobId("project", "job1", "group") >> { throw new IOException("Rundeck is down") }
+        jobId == "uuid-1"
+    }
+
+    def "a corrupt cache file starts an empty cache"(){
+        given:
+        cacheFile.text = "{ not json"
+
+        when:
+        def cache = persistentCache()
+        def jobId = cache.findJobIdByReference("project", "group", "job1", "Default", client)
+
+        then:
+        1 * client.findJobId("project", "job1", "group") >> "uuid-1"
+        jobId == "uuid-1"
+        notThrown(Exception)
+    }
+
+    def "only changes mark the cache for saving"(){
+        given:
+        def cache = persistentCache()
+        client.findJobId("project", "job1", "group") >> "uuid-1"
+        cache.findJobIdByReference("project", "group", "job1", "Default", client)
+        cache.save()
+
+        when:
+        cache.findJobIdByReference("project", "group", "job1", "Default", client)
+
+        then:
+        !cache.dirty.get()
+
+        when:
+        cache.invalidate()
+
+        then:
+        cache.dirty.get()
+        cache.close()
+    }
+
+    def "a closed cache does not save anymore"(){
+        given:
+        def cache = persistentCache()
+        client.findJobId("project", "job1", "group") >> "uuid-1"
+        cache.findJobIdByReference("project", "group", "job1", "Default", client)
+
+        when:
+        cache.close()
+        cache.save()
+
+        then:
+        cache.pendingSave == null
+        !cacheFile.exists()
+    }
+
+    PersistentRundeckJobCache persistentCache(){
+        return new PersistentRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues(), cacheFile, { it.run() } as Executor)
+    }
+
+    void saveEntry(){
+        def cache = persistentCache()
+        cache.putCachedJobReference("Default", "project:group/job1", "uuid-1")
+        cache.save()
+        cache.close()
+    }
+
+    JobItem job(String id, String group, String name){
+        JobItem job = new JobItem()
+        job.setId(id)
+        job.setGroup(group)
+        job.setName(name)
+        job.setProject("project")
+        return job
+    }
+}
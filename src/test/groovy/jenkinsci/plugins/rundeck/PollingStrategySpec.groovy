@@ -0,0 +1,63 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.polling.EtaPollingStrategy
+import org.jenkinsci.plugins.rundeck.polling.ExponentialPollingStrategy
+import org.jenkinsci.plugins.rundeck.polling.FixedPollingStrategy
+import org.jenkinsci.plugins.rundeck.polling.PollingStrategyType
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PollingStrategySpec extends Specification {
+
+    def "fixed strategy always returns the same delay"(){
+        given:
+        def strategy = new FixedPollingStrategy(5000L)
+
+        expect:
+        strategy.getDelayInMillis(0, 0L) == 5000L
+        strategy.getDelayInMillis(100, 3600000L) == 5000L
+    }
+
+    @Unroll
+    def "exponential strategy delay for poll #pollCount is #expected"(){
+        given:
+        def strategy = new ExponentialPollingStrategy(1000L, 60000L)
+
+        expect:
+        strategy.getDelayInMillis(pollCount, 0L) == expected
+
+        where:
+        pollCount | expected
+        0         | 1000L
+        1         | 2000L
+        5         | 32000L
+        6         | 60000L
+        500       | 60000L
+    }
+
+    def "eta strategy waits half of the remaining time then falls back"(){
+        given:
+        def strategy = new EtaPollingStrategy(600000L, 1000L, 60000L, new FixedPollingStrategy(3000L))
+
+        expect:
+        strategy.getDelayInMillis(0, 0L) == 60000L
+        strategy.getDelayInMillis(3, 590000L) == 5000L
+        strategy.getDelayInMillis(4, 599500L) == 1000L
+        strategy.getDelayInMillis(5, 700000L) == 3000L
+    }
+
+    def "eta strategy without average duration uses the fallback"(){
+        given:
+        def strategy = new EtaPollingStrategy(null, 1000L, 60000L, new FixedPollingStrategy(3000L))
+
+        expect:
+        strategy.getDelayInMillis(0, 0L) == 3000L
+    }
+
+    def "types are resolved from their names"(){
+        expect:
+        PollingStrategyType.fromName("exponential") == PollingStrategyType.EXPONENTIAL
+        PollingStrategyType.fromName("") == null
+        PollingStrategyType.fromName("unknown") == null
+    }
+}
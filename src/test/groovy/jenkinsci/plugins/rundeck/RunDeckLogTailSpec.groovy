@@ -1,5 +1,6 @@
 package jenkinsci.plugins.rundeck
 
+import hudson.util.StreamTaskListener
 import org.jenkinsci.plugins.rundeck.RunDeckLogTail
 import org.jenkinsci.plugins.rundeck.client.RundeckManager
 import org.rundeck.client.api.model.ExecLog
@@ -236,4 +237,52 @@ class RunDeckLogTailSpec extends Specification {
         iterator.next().size()==0
         !iterator.hasNext()
     }
+
+    def "api IOException is reported then thrown after the retries"(){
+        given:
+        Long executionId = 1L;
+        int maxLines = 2;
+        int maxRetries = 3;
+        def console = new ByteArrayOutputStream()
+
+        RundeckManager rundeckClient = Mock(RundeckManager){
+            getOutput(executionId, 0L, 0, maxLines ) >> {throw new IOException("Rundeck is down")}
+        }
+
+        when:
+        def runDeckLogTail = new RunDeckLogTail(rundeckClient, executionId, maxLines, maxRetries, 10L, 10L, 10L);
+        runDeckLogTail.setListener(new StreamTaskListener(console))
+        RunDeckLogTail.RunDeckLogTailIterator iterator = runDeckLogTail.iterator()
+        def results = (1..maxRetries).collect { iterator.hasNext() ? iterator.next().size() : -1 }
+        iterator.hasNext()
+
+        then:
+        results == [0, 0, 0]
+        UncheckedIOException e = thrown()
+        e.cause.message == "Rundeck is down"
+        console.toString().count("Unable to fetch the Rundeck execution output: Rundeck is down") == maxRetries + 1
+    }
+
+    def "streaming sends the last modification date only once caught up"(){
+        given:
+        ExecOutput page = createOutput(["lorem"], false, false, 100)
+        page.totalSize = 200
+        page.lastModified = 1000
+        ExecOutput lastPage = createOutput(["ipsum"], false, false, 200)
+        lastPage.totalSize = 200
+        lastPage.lastModified = 2000
+        ExecOutput end = createOutput([], true, true, 200)
+        end.totalSize = 200
+        RundeckManager rundeckClient = Mock(RundeckManager)
+
+        when:
+        def runDeckLogTail = new RunDeckLogTail(rundeckClient, 1L, 50, 3, 10L, 10L, 10L, 1024)
+        def lines = runDeckLogTail.collect { it.size() }
+
+        then:
+        1 * rundeckClient.getOutput("1", 0L, 0L, _) >> page
+        1 * rundeckClient.getOutput("1", 100L, 0L, _) >> lastPage
+        1 * rundeckClient.getOutput("1", 200L, 2000L, _) >> end
+        lines == [1, 1, 0]
+    }
 }
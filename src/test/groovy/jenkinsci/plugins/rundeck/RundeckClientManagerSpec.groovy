@@ -0,0 +1,79 @@
+package jenkinsci.plugins.rundeck
+
+import okhttp3.MediaType
+import okhttp3.ResponseBody
+import org.jenkinsci.plugins.rundeck.client.RundeckClientManager
+import org.rundeck.client.api.RundeckApi
+import org.rundeck.client.api.model.JobItem
+import org.rundeck.client.api.model.scheduler.ScheduledJobItem
+import org.rundeck.client.util.Client
+import retrofit2.Call
+import retrofit2.Response
+import spock.lang.Specification
+
+class RundeckClientManagerSpec extends Specification {
+
+    RundeckApi api = Mock(RundeckApi)
+
+    RundeckClientManager manager = new RundeckClientManager()
+
+    def setup(){
+        Client<RundeckApi> client = Mock(Client) {
+            getService() >> api
+        }
+        manager.setClient(client)
+    }
+
+    def "a missing job is returned as null"(){
+        when:
+        def byId = manager.getJob("uuid-1")
+        def byReference = manager.findJob("project", "job1", "group")
+
+        then:
+        1 * api.getJobInfo("uuid-1") >> call(errorResponse(404))
+        1 * api.listJobs("project", "job1", "group", "", "") >> call(errorResponse(404))
+        byId == null
+        byReference == null
+    }
+
+    def "a server error while getting a job is thrown instead of being taken for a missing job"(){
+        when:
+        manager.getJob("uuid-1")
+
+        then:
+        1 * api.getJobInfo("uuid-1") >> call(errorResponse(503))
+        def e = thrown(IOException)
+        e.message.startsWith("Unable to get job uuid-1 : 503")
+    }
+
+    def "a server error while finding a job is thrown instead of being taken for a missing job"(){
+        when:
+        manager.findJobId("project", "job1", "group")
+
+        then:
+        1 * api.listJobs("project", "job1", "group", "", "") >> call(errorResponse(500))
+        def e = thrown(IOException)
+        e.message.startsWith("Unable to find job job1 in project project : 500")
+    }
+
+    def "a found job is returned"(){
+        given:
+        def job = new ScheduledJobItem()
+        job.setId("uuid-1")
+
+        when:
+        def found = manager.getJob("uuid-1")
+
+        then:
+        1 * api.getJobInfo("uuid-1") >> call(Response.success(job))
+        found.id == "uuid-1"
+    }
+
+    static Call call(Response response){
+        return [execute: { response }] as Call
+    }
+
+    static Response errorResponse(int code){
+        return Response.error(code, ResponseBody.create(MediaType.parse("text/plain"), "error"))
+    }
+}
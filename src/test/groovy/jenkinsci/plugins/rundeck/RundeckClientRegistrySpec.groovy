@@ -0,0 +1,73 @@
+package jenkinsci.plugins.rundeck
+
+import hudson.util.Secret
+import okhttp3.OkHttpClient
+import org.jenkinsci.plugins.rundeck.RundeckInstance
+import org.jenkinsci.plugins.rundeck.client.RundeckClientRegistry
+import spock.lang.Specification
+
+class RundeckClientRegistrySpec extends Specification {
+
+    RundeckInstance createInstance(String name, String token){
+        RundeckInstance instance = new RundeckInstance(name, "http://localhost:4440")
+        instance.setToken(Secret.fromString(token))
+        return instance
+    }
+
+    def "same instance and credentials share one client"(){
+        given:
+        def registry = new RundeckClientRegistry()
+
+        when:
+        def first = registry.getClient(createInstance("Default", "token1"))
+        def second = registry.getClient(createInstance("Default", "token1"))
+
+        then:
+        first.is(second)
+        registry.size() == 1
+    }
+
+    def "different credentials get different clients"(){
+        given:
+        def registry = new RundeckClientRegistry()
+
+        when:
+        def first = registry.getClient(createInstance("Default", "token1"))
+        def second = registry.getClient(createInstance("Default", "token2"))
+
+        then:
+        !first.is(second)
+        registry.size() == 2
+    }
+
+    def "invalidation drops the clients of an instance"(){
+        given:
+        def registry = new RundeckClientRegistry()
+        def first = registry.getClient(createInstance("Default", "token1"))
+        registry.getClient(createInstance("Other", "token1"))
+
+        when:
+        registry.invalidate("Default")
+        def second = registry.getClient(createInstance("Default", "token1"))
+
+        then:
+        !first.is(second)
+        registry.size() == 2
+    }
+
+    def "invalidated clients release their threads and connections"(){
+        given:
+        def registry = new RundeckClientRegistry()
+        def client = registry.getClient(createInstance("Default", "token1"))
+        def httpClient = (OkHttpClient) client.getRetrofit().callFactory()
+        def dispatcherExecutor = httpClient.dispatcher().executorService()
+
+        when:
+        registry.invalidate("Default")
+
+        then:
+        dispatcherExecutor.isShutdown()
+        httpClient.connectionPool().connectionCount() == 0
+        registry.size() == 0
+    }
+}
@@ -0,0 +1,75 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.RundeckCompressedOutput
+import org.rundeck.client.api.model.ExecLog
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.util.zip.GZIPInputStream
+
+class RundeckCompressedOutputSpec extends Specification {
+
+    ExecLog createEntry(String log){
+        ExecLog entry = new ExecLog(log)
+        entry.node = "node1"
+        entry.time = "10:00:00"
+        entry.level = "NORMAL"
+        return entry
+    }
+
+    def "whole output is compressed and only the first and last lines are printed"(){
+        given:
+        def directory = Files.createTempDirectory("rundeck-output").toFile()
+        def file = new File(directory, "execution-42.log.gz")
+        def output = new RundeckCompressedOutput(file, "{log}", StandardCharsets.UTF_8)
+        def console = new ByteArrayOutputStream()
+
+        when:
+        (1..100).each { output.write(createEntry("line " + it)) }
+        output.printExcerpt(new PrintStream(console, true, "UTF-8"))
+        output.close()
+
+        then:
+        def lines = new GZIPInputStream(new FileInputStream(file)).getText("UTF-8").readLines()
+        lines.size() == 100
+        lines.first() == "line 1"
+        lines.last() == "line 100"
+        def excerpt = console.toString("UTF-8").readLines()
+        excerpt.contains("line 20")
+        !excerpt.contains("line 21")
+        excerpt.contains("... 60 line(s) omitted ...")
+        !excerpt.contains("line 80")
+        excerpt.contains("line 81")
+        excerpt.contains("line 100")
+
+        cleanup:
+        directory.deleteDir()
+    }
+
+    def "short outputs are printed entirely"(){
+        given:
+        def directory = Files.createTempDirectory("rundeck-output").toFile()
+        def output = new RundeckCompressedOutput(new File(directory, "execution-1.log.gz"), "{log}", StandardCharsets.UTF_8)
+        def console = new ByteArrayOutputStream()
+
+        when:
+        (1..30).each { output.write(createEntry("line " + it)) }
+        output.close()
+        output.printExcerpt(new PrintStream(console, true, "UTF-8"))
+
+        then:
+        def excerpt = console.toString("UTF-8").readLines()
+        (1..30).every { excerpt.contains("line " + it) }
+        !excerpt.any { it.contains("omitted") }
+
+        cleanup:
+        directory.deleteDir()
+    }
+
+    def "execution ids are turned into safe file names"(){
+        expect:
+        RundeckCompressedOutput.fileNameOf("42") == "execution-42.log.gz"
+        !RundeckCompressedOutput.fileNameOf("../42").contains("/")
+    }
+}
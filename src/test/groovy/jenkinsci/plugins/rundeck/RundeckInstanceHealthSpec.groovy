@@ -0,0 +1,58 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.RundeckInstance
+import org.jenkinsci.plugins.rundeck.client.RundeckInstanceHealth
+import spock.lang.Specification
+
+import java.util.function.LongSupplier
+
+class RundeckInstanceHealthSpec extends Specification {
+
+    long now = 0
+
+    RundeckInstanceHealth createHealth(){
+        return new RundeckInstanceHealth(1000, { now } as LongSupplier)
+    }
+
+    def "unknown instances are pinged"(){
+        given:
+        def health = createHealth()
+
+        expect:
+        health.needsPing(new RundeckInstance("Default", "http://localhost:4440"))
+    }
+
+    def "ping is skipped after a recent successful call"(){
+        given:
+        def health = createHealth()
+        def instance = new RundeckInstance("Default", "http://localhost:4440")
+
+        when:
+        health.recordSuccess(instance)
+        now = 500
+
+        then:
+        !health.needsPing(instance)
+        health.needsPing(new RundeckInstance("Other", "http://localhost:4440"))
+    }
+
+    def "idle or failing instances are pinged again"(){
+        given:
+        def health = createHealth()
+        def instance = new RundeckInstance("Default", "http://localhost:4440")
+        health.recordSuccess(instance)
+
+        when:
+        now = 1500
+
+        then:
+        health.needsPing(instance)
+
+        when:
+        health.recordSuccess(instance)
+        health.recordFailure(instance)
+
+        then:
+        health.needsPing(instance)
+    }
+}
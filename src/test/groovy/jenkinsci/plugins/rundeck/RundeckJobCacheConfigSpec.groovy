@@ -0,0 +1,109 @@
+package jenkinsci.plugins.rundeck
+
+import net.sf.json.JSONObject
+import org.jenkinsci.plugins.rundeck.RundeckInstance
+import org.jenkinsci.plugins.rundeck.cache.InMemoryRundeckJobCache
+import org.jenkinsci.plugins.rundeck.cache.RundeckJobCacheConfig
+import org.jenkinsci.plugins.rundeck.client.RundeckManager
+import spock.lang.Specification
+
+class RundeckJobCacheConfigSpec extends Specification {
+
+    def "every setting is bound from the form"(){
+        given:
+        def form = JSONObject.fromObject([
+                persistent                    : true,
+                afterAccessExpirationInMinutes: 60,
+                maximumSize                   : 3000,
+                maximumWeightInKilobytes      : 2048,
+                cacheStatsDisplayHitThreshold : 0,
+                preloadIntervalInMinutes      : 30,
+                refreshAfterWriteInMinutes    : 5,
+                negativeExpirationInSeconds   : 120
+        ])
+
+        when:
+        def config = RundeckJobCacheConfig.fromForm(true, form, RundeckJobCacheConfig.initializeWithDefaultValues())
+
+        then:
+        config.enabled
+        config.persistent
+        config.afterAccessExpirationInMinutes == 60
+        config.maximumSize == 3000
+        config.maximumWeightInKilobytes == 2048
+        config.weighted
+        config.cacheStatsDisplayHitThreshold == 0
+        config.preloadIntervalInMinutes == 30
+        config.refreshAfterWriteInMinutes == 5
+        config.negativeExpirationInSeconds == 120
+    }
+
+    def "settings missing from the form keep their current value"(){
+        given:
+        def current = RundeckJobCacheConfig.initializeWithDefaultValues()
+        current.setMaximumSize(3000)
+        current.setRefreshAfterWriteInMinutes(5)
+
+        when:
+        def config = RundeckJobCacheConfig.fromForm(true, JSONObject.fromObject([afterAccessExpirationInMinutes: 60]), current)
+
+        then:
+        config.afterAccessExpirationInMinutes == 60
+        config.maximumSize == 3000
+        config.refreshAfterWriteInMinutes == 5
+    }
+
+    def "out of range values are clamped"(){
+        when:
+        def config = RundeckJobCacheConfig.fromForm(true, JSONObject.fromObject([
+                afterAccessExpirationInMinutes: 0,
+                maximumSize                   : -1,
+                negativeExpirationInSeconds   : -10
+        ]), RundeckJobCacheConfig.initializeWithDefaultValues())
+
+        then:
+        config.afterAccessExpirationInMinutes == 1
+        config.maximumSize == 1
+        config.negativeExpirationInSeconds == 0
+    }
+
+    def "a disabled cache keeps the default settings"(){
+        when:
+        def config = RundeckJobCacheConfig.fromForm(false, null, RundeckJobCacheConfig.initializeWithDefaultValues())
+
+        then:
+        !config.enabled
+        config.maximumSize == RundeckJobCacheConfig.initializeWithDefaultValues().maximumSize
+    }
+
+    def "a new size bound is applied in place without dropping entries"(){
+        given:
+        def client = Mock(RundeckManager) {
+            getRundeckInstance() >> new RundeckInstance("Default", "http://localhost:4440")
+            findJobId("project", "job", "group") >> "job-uuid"
+        }
+        def cache = new InMemoryRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues())
+        cache.findJobIdByReference("project", "group", "job", "Default", client)
+        def resized = RundeckJobCacheConfig.initializeWithDefaultValues()
+        resized.setMaximumSize(3000)
+
+        when:
+        def reconfigured = cache.reconfigure(resized)
+        def jobId = cache.findJobIdByReference("project", "group", "job", "Default", client)
+
+        then:
+        reconfigured
+        jobId == "job-uuid"
+        cache.stats.find { it.name == "Default (references)" }.size == 1
+    }
+
+    def "switching to a weight bound cannot be applied in place"(){
+        given:
+        def cache = new InMemoryRundeckJobCache(RundeckJobCacheConfig.initializeWithDefaultValues())
+        def weighted = RundeckJobCacheConfig.initializeWithDefaultValues()
+        weighted.setMaximumWeightInKilobytes(1024)
+
+        expect:
+        !cache.reconfigure(weighted)
+    }
+}
@@ -0,0 +1,53 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.RundeckJobCachePreloader
+import org.jenkinsci.plugins.rundeck.cache.RundeckJobCacheConfig
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class RundeckJobCachePreloaderSpec extends Specification {
+
+    RundeckJobCachePreloader preloader = new RundeckJobCachePreloader()
+
+    RundeckJobCacheConfig config = RundeckJobCacheConfig.initializeWithDefaultValues()
+
+    long start = preloader.lastPreloadAt
+
+    def setup(){
+        config.enabled = true
+        config.preloadIntervalInMinutes = 5
+    }
+
+    def "the projects are reloaded once the preload interval has elapsed"(){
+        expect:
+        !preloader.isPreloadDue(config, start + TimeUnit.MINUTES.toMillis(1))
+        !preloader.isPreloadDue(config, start + TimeUnit.MINUTES.toMillis(4))
+        preloader.isPreloadDue(config, start + TimeUnit.MINUTES.toMillis(5))
+    }
+
+    def "the interval starts again from the last preload"(){
+        given:
+        long preloadedAt = start + TimeUnit.MINUTES.toMillis(6)
+        preloader.isPreloadDue(config, preloadedAt)
+
+        expect:
+        !preloader.isPreloadDue(config, preloadedAt + TimeUnit.MINUTES.toMillis(1))
+        !preloader.isPreloadDue(config, preloadedAt + TimeUnit.MINUTES.toMillis(4))
+        preloader.isPreloadDue(config, preloadedAt + TimeUnit.MINUTES.toMillis(5))
+    }
+
+    def "nothing is reloaded when the cache or the preloading is disabled"(){
+        given:
+        config.enabled = enabled
+        config.preloadIntervalInMinutes = interval
+
+        expect:
+        !preloader.isPreloadDue(config, start + TimeUnit.DAYS.toMillis(1))
+
+        where:
+        enabled | interval
+        false   | 5
+        true    | 0
+    }
+}
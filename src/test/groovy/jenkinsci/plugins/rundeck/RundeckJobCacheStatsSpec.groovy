@@ -0,0 +1,27 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.cache.RundeckJobCacheStats
+import spock.lang.Specification
+
+class RundeckJobCacheStatsSpec extends Specification {
+
+    def "hit rate and load penalty are computed from the counters"(){
+        when:
+        def stats = new RundeckJobCacheStats("Default", 10, 75, 25, 20, 5, 50_000_000, 3)
+
+        then:
+        stats.requestCount == 100
+        stats.hitRate == 0.75d
+        stats.averageLoadPenaltyInMillis == 2.0d
+        stats.toString().startsWith("Default: size=10, hits=75, misses=25")
+    }
+
+    def "an unused cache has a full hit rate and no load penalty"(){
+        when:
+        def stats = new RundeckJobCacheStats("Default", 0, 0, 0, 0, 0, 0, 0)
+
+        then:
+        stats.hitRate == 1.0d
+        stats.averageLoadPenaltyInMillis == 0.0d
+    }
+}
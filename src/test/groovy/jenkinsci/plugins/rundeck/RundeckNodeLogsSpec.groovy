@@ -0,0 +1,82 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.RundeckNodeLogs
+import org.rundeck.client.api.model.ExecLog
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.util.zip.GZIPInputStream
+
+class RundeckNodeLogsSpec extends Specification {
+
+    ExecLog createEntry(String node, String level, String log){
+        ExecLog entry = new ExecLog(log)
+        entry.node = node
+        entry.time = "10:00:00"
+        entry.level = level
+        return entry
+    }
+
+    def "entries are split per node and errors are summarized"(){
+        given:
+        def directory = Files.createTempDirectory("rundeck-node-logs").toFile()
+        def nodeLogs = new RundeckNodeLogs(directory, "{level} {log}", StandardCharsets.UTF_8)
+        def console = new ByteArrayOutputStream()
+
+        when:
+        nodeLogs.write(createEntry("node1", "NORMAL", "starting"))
+        nodeLogs.write(createEntry("node2", "NORMAL", "starting"))
+        nodeLogs.write(createEntry("node2", "ERROR", "disk full"))
+        nodeLogs.close()
+        nodeLogs.printSummary(new PrintStream(console, true, "UTF-8"))
+
+        then:
+        new GZIPInputStream(new FileInputStream(new File(directory, "node1.log.gz"))).getText("UTF-8") == "NORMAL starting" + System.lineSeparator()
+        new GZIPInputStream(new FileInputStream(new File(directory, "node2.log.gz"))).getText("UTF-8") ==
+                "NORMAL starting" + System.lineSeparator() + "ERROR disk full" + System.lineSeparator()
+        def summary = console.toString("UTF-8")
+        summary.contains("2 node(s) (3 lines)")
+        summary.contains("--- node2: 1 error line(s)")
+        summary.contains("disk full")
+        !summary.contains("node1:")
+
+        cleanup:
+        directory.deleteDir()
+    }
+
+    def "node names are turned into distinct safe file names"(){
+        expect:
+        RundeckNodeLogs.fileNameOf("web-01.example.com") == "web-01.example.com.log.gz"
+        RundeckNodeLogs.fileNameOf("a/b") != RundeckNodeLogs.fileNameOf("a_b")
+        !RundeckNodeLogs.fileNameOf("../etc").contains("/")
+    }
+
+    def "logs written again for the same execution start from empty files"(){
+        given:
+        def directory = Files.createTempDirectory("rundeck-node-logs").toFile()
+        def first = new RundeckNodeLogs(directory, "{log}", StandardCharsets.UTF_8)
+        first.write(createEntry("node1", "NORMAL", "first attempt"))
+        first.write(createEntry("node2", "NORMAL", "first attempt"))
+        first.close()
+
+        when:
+        def second = new RundeckNodeLogs(directory, "{log}", StandardCharsets.UTF_8)
+        second.write(createEntry("node1", "NORMAL", "second attempt"))
+        second.close()
+
+        then:
+        new GZIPInputStream(new FileInputStream(new File(directory, "node1.log.gz"))).getText("UTF-8") == "second attempt" + System.lineSeparator()
+        !new File(directory, "node2.log.gz").exists()
+
+        cleanup:
+        directory.deleteDir()
+    }
+
+    def "executions are turned into distinct safe directory names"(){
+        expect:
+        RundeckNodeLogs.directoryNameOf("42") == "execution-42"
+        RundeckNodeLogs.directoryNameOf("42") != RundeckNodeLogs.directoryNameOf("43")
+        !RundeckNodeLogs.directoryNameOf("../42").contains("/")
+    }
+}
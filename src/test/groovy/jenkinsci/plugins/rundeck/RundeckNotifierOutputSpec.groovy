@@ -0,0 +1,91 @@
+package jenkinsci.plugins.rundeck
+
+import hudson.util.StreamTaskListener
+import org.jenkinsci.plugins.rundeck.RundeckInstance
+import org.jenkinsci.plugins.rundeck.RundeckNotifier
+import org.jenkinsci.plugins.rundeck.client.RundeckManager
+import org.rundeck.client.api.model.ExecLog
+import org.rundeck.client.api.model.ExecOutput
+import spock.lang.Specification
+
+class RundeckNotifierOutputSpec extends Specification {
+
+    RundeckManager client = Mock(RundeckManager) {
+        getRundeckInstance() >> new RundeckInstance("Default", "http://localhost:4440")
+    }
+
+    def console = new ByteArrayOutputStream()
+
+    ExecOutput createPage(int lines, boolean completed, long offset){
+        ExecOutput output = new ExecOutput()
+        output.completed = completed
+        output.execCompleted = completed
+        output.offset = offset
+        output.entries = (1..lines).collect {
+            ExecLog entry = new ExecLog("x" * 100)
+            entry.node = "node1"
+            entry.time = "10:00:00"
+            entry.level = "NORMAL"
+            entry
+        }
+        return output
+    }
+
+    RundeckNotifier createNotifier(){
+        RundeckNotifier notifier = new RundeckNotifier("Default", "1", null, null, null, true, true, true, false, null, null, null)
+        notifier.readResolve()
+        return notifier
+    }
+
+    def "the output is read page by page following the returned offset"(){
+        given:
+        def notifier = createNotifier()
+
+        when:
+        notifier.getAndPrintRundeckLogsForExecution(client, null, new StreamTaskListener(console), "1")
+
+        then:
+        1 * client.getOutput("1", 0L, 0L, (long) RundeckNotifier.LOG_PAGE_LINES) >> createPage(5, false, 500)
+        1 * client.getOutput("1", 500L, 0L, (long) RundeckNotifier.LOG_PAGE_LINES) >> createPage(5, false, 1000)
+        1 * client.getOutput("1", 1000L, 0L, (long) RundeckNotifier.LOG_PAGE_LINES) >> createPage(2, true, 1200)
+        def lines = console.toString().readLines()
+        lines.first() == "BEGIN RUNDECK LOG OUTPUT"
+        lines.last() == "END RUNDECK LOG OUTPUT"
+        lines.count { it.startsWith("[node1]") } == 12
+    }
+
+    def "the copy stops at the maximum output size without reading the next pages"(){
+        given:
+        def notifier = createNotifier()
+        notifier.setMaxLogSizeInKilobytes(1)
+
+        when:
+        notifier.getAndPrintRundeckLogsForExecution(client, null, new StreamTaskListener(console), "1")
+
+        then:
+        1 * client.getOutput("1", 0L, 0L, _) >> createPage(5, false, 500)
+        1 * client.getOutput("1", 500L, 0L, _) >> createPage(5, false, 1000)
+        0 * client.getOutput("1", 1000L, _, _)
+        def lines = console.toString().readLines()
+        // 8 lines of about 130 bytes fit in 1 KB
+        lines.count { it.startsWith("[node1]") } == 8
+        lines.contains("... Rundeck output truncated after 1 KB, see the full output on Rundeck")
+        lines.last() == "END RUNDECK LOG OUTPUT"
+    }
+
+    def "an empty page at the same offset ends the copy"(){
+        given:
+        def notifier = createNotifier()
+        def empty = new ExecOutput()
+        empty.offset = 500
+        empty.entries = []
+
+        when:
+        notifier.getAndPrintRundeckLogsForExecution(client, null, new StreamTaskListener(console), "1")
+
+        then:
+        1 * client.getOutput("1", 0L, 0L, _) >> createPage(5, false, 500)
+        1 * client.getOutput("1", 500L, 0L, _) >> empty
+        console.toString().readLines().count { it.startsWith("[node1]") } == 5
+    }
+}
@@ -0,0 +1,76 @@
+package jenkinsci.plugins.rundeck
+
+import hudson.model.FreeStyleProject
+import org.jenkinsci.plugins.rundeck.RundeckTrigger
+import org.jenkinsci.plugins.rundeck.RundeckTriggerRegistry
+import org.jenkinsci.plugins.rundeck.client.ExecutionData
+import org.rundeck.client.api.model.Execution
+import org.rundeck.client.api.model.JobItem
+import spock.lang.Specification
+
+class RundeckTriggerRegistrySpec extends Specification {
+
+    ExecutionData createExecution(String jobId, String project, String group, String name){
+        JobItem job = new JobItem()
+        job.setId(jobId)
+        job.setProject(project)
+        job.setGroup(group)
+        job.setName(name)
+        Execution execution = new Execution()
+        execution.setId("1")
+        execution.setStatus("succeeded")
+        execution.setJob(job)
+        return new ExecutionData(execution)
+    }
+
+    RundeckTrigger createTrigger(String... jobsIdentifiers){
+        return new RundeckTrigger(true, Arrays.asList(jobsIdentifiers), ["SUCCEEDED"], null)
+    }
+
+    def "only the triggers filtering on the job are candidates"(){
+        given:
+        def registry = new RundeckTriggerRegistry()
+        def byUuid = createTrigger("6FA68FE1-6894-477c-a997-ba1004b4ae83")
+        def byReference = createTrigger("Jenkins:Test/Demo")
+        def other = createTrigger("other-uuid", "Jenkins:Test/Other")
+        registry.register(Mock(FreeStyleProject), byUuid)
+        registry.register(Mock(FreeStyleProject), byReference)
+        registry.register(Mock(FreeStyleProject), other)
+
+        when:
+        def candidates = registry.findCandidates(createExecution("6fa68fe1-6894-477c-a997-ba1004b4ae83", "Jenkins", "Test", "Demo"), null)
+
+        then:
+        candidates == [byUuid, byReference] as Set
+    }
+
+    def "a new trigger of the same project replaces the previous one"(){
+        given:
+        def registry = new RundeckTriggerRegistry()
+        def project = Mock(FreeStyleProject)
+        def previous = createTrigger("Jenkins:Test/Demo")
+        def current = createTrigger("Jenkins:Test/Other")
+        registry.register(project, previous)
+
+        when:
+        registry.register(project, current)
+
+        then:
+        registry.size() == 1
+        registry.findCandidates(createExecution("uuid", "Jenkins", "Test", "Demo"), null).isEmpty()
+        registry.findCandidates(createExecution("uuid", "Jenkins", "Test", "Other"), null) == [current] as Set
+
+        when:
+        registry.unregister(project, previous)
+
+        then:
+        registry.size() == 1
+
+        when:
+        registry.unregister(project, current)
+
+        then:
+        registry.size() == 0
+        registry.findCandidates(createExecution("uuid", "Jenkins", "Test", "Other"), null).isEmpty()
+    }
+}
@@ -0,0 +1,102 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.RundeckInstance
+import org.jenkinsci.plugins.rundeck.RundeckTrigger
+import org.jenkinsci.plugins.rundeck.client.ExecutionData
+import org.jenkinsci.plugins.rundeck.client.RundeckManager
+import org.rundeck.client.api.model.DateInfo
+import org.rundeck.client.api.model.Execution
+import org.rundeck.client.api.model.JobItem
+import spock.lang.Specification
+
+import java.util.function.Function
+
+class RundeckTriggerValidationSpec extends Specification {
+
+    RundeckInstance instance = new RundeckInstance("Default", "http://localhost:4440")
+
+    RundeckManager client = Mock(RundeckManager)
+
+    Function<RundeckInstance, RundeckManager> clients = { client } as Function
+
+    def setup(){
+        RundeckTrigger.VALIDATIONS.invalidateAll()
+    }
+
+    Execution createExecution(String id, String jobId, long started){
+        JobItem job = new JobItem()
+        job.setId(jobId)
+        job.setName("job")
+        DateInfo dateStarted = new DateInfo()
+        dateStarted.unixtime = started
+        Execution execution = new Execution()
+        execution.setId(id)
+        execution.setStatus("succeeded")
+        execution.setJob(job)
+        execution.setDateStarted(dateStarted)
+        return execution
+    }
+
+    def "a validation is shared by the notifications of the same execution"(){
+        given:
+        def notified = new ExecutionData(createExecution("1", "job-uuid", 1000))
+
+        when:
+        def first = RundeckTrigger.validateRundeckExecution(instance, notified, clients)
+        def second = RundeckTrigger.validateRundeckExecution(instance, notified, clients)
+
+        then:
+        1 * client.getExecution("1") >> createExecution("1", "job-uuid", 1000)
+        first.valid
+        second.valid
+    }
+
+    def "a notification claiming other values is validated again"(){
+        given:
+        def notified = new ExecutionData(createExecution("1", "job-uuid", 1000))
+        def forged = new ExecutionData(createExecution("1", "other-uuid", 1000))
+
+        when:
+        def valid = RundeckTrigger.validateRundeckExecution(instance, notified, clients)
+        def invalid = RundeckTrigger.validateRundeckExecution(instance, forged, clients)
+
+        then:
+        2 * client.getExecution("1") >> createExecution("1", "job-uuid", 1000)
+        valid.valid
+        !invalid.valid
+        invalid.message == "Execution doesn't match with original values"
+    }
+
+    def "failures to talk to Rundeck are not cached"(){
+        given:
+        def notified = new ExecutionData(createExecution("1", "job-uuid", 1000))
+
+        when:
+        def failed = RundeckTrigger.validateRundeckExecution(instance, notified, clients)
+
+        then:
+        1 * client.getExecution("1") >> { throw new IOException("Rundeck is down") }
+        !failed.valid
+        failed.message == "Rundeck is down"
+
+        when:
+        def retried = RundeckTrigger.validateRundeckExecution(instance, notified, clients)
+
+        then:
+        1 * client.getExecution("1") >> createExecution("1", "job-uuid", 1000)
+        retried.valid
+    }
+
+    def "validations are cached per Rundeck instance"(){
+        given:
+        def notified = new ExecutionData(createExecution("1", "job-uuid", 1000))
+        def other = new RundeckInstance("Other", "http://other:4440")
+
+        when:
+        RundeckTrigger.validateRundeckExecution(instance, notified, clients)
+        RundeckTrigger.validateRundeckExecution(other, notified, clients)
+
+        then:
+        2 * client.getExecution("1") >> createExecution("1", "job-uuid", 1000)
+    }
+}
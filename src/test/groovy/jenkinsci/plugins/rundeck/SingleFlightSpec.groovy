@@ -0,0 +1,137 @@
+package jenkinsci.plugins.rundeck
+
+import org.jenkinsci.plugins.rundeck.client.SingleFlight
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class SingleFlightSpec extends Specification {
+
+    def "concurrent identical calls share one execution"(){
+        given:
+        def singleFlight = new SingleFlight()
+        def calls = new AtomicInteger()
+        def release = new CountDownLatch(1)
+        def pool = Executors.newFixedThreadPool(5)
+
+        when:
+        def futures = (1..5).collect {
+            pool.submit({
+                singleFlight.execute("job-1", {
+                    calls.incrementAndGet()
+                    release.await(5, TimeUnit.SECONDS)
+                    return "result"
+                } as SingleFlight.IOCall)
+            })
+        }
+        while (singleFlight.inFlightCount == 0) {
+            Thread.sleep(10)
+        }
+        Thread.sleep(100)
+        release.countDown()
+        def results = futures.collect { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        results == ["result"] * 5
+        calls.get() == 1
+        singleFlight.inFlightCount == 0
+
+        cleanup:
+        pool.shutdownNow()
+    }
+
+    def "failure is propagated and nothing is kept afterwards"(){
+        given:
+        def singleFlight = new SingleFlight()
+
+        when:
+        singleFlight.execute("job-1", { throw new IOException("boom") } as SingleFlight.IOCall)
+
+        then:
+        IOException e = thrown()
+        e.message == "boom"
+        singleFlight.execute("job-1", { "second" } as SingleFlight.IOCall) == "second"
+    }
+
+    def "an interrupted call is retried by the waiting callers"(){
+        given:
+        def singleFlight = new SingleFlight()
+        def calls = new AtomicInteger()
+        def release = new CountDownLatch(1)
+        def pool = Executors.newFixedThreadPool(2)
+
+        when:
+        def interrupted = pool.submit({
+            singleFlight.execute("job-1", {
+                calls.incrementAndGet()
+                release.await(5, TimeUnit.SECONDS)
+                throw new InterruptedIOException("interrupted")
+            } as SingleFlight.IOCall)
+        })
+        while (singleFlight.inFlightCount == 0) {
+            Thread.sleep(10)
+        }
+        def waiting = pool.submit({
+            singleFlight.execute("job-1", {
+                calls.incrementAndGet()
+                return "retried"
+            } as SingleFlight.IOCall)
+        })
+        Thread.sleep(100)
+        release.countDown()
+        interrupted.get(5, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof InterruptedIOException
+        waiting.get(5, TimeUnit.SECONDS) == "retried"
+        calls.get() == 2
+        singleFlight.inFlightCount == 0
+
+        cleanup:
+        pool.shutdownNow()
+    }
+
+    def "a timeout is shared with the waiting callers"(){
+        given:
+        def singleFlight = new SingleFlight()
+        def calls = new AtomicInteger()
+        def release = new CountDownLatch(1)
+        def pool = Executors.newFixedThreadPool(2)
+
+        when:
+        def futures = (1..2).collect {
+            pool.submit({
+                singleFlight.execute("job-1", {
+                    calls.incrementAndGet()
+                    release.await(5, TimeUnit.SECONDS)
+                    throw new SocketTimeoutException("timeout")
+                } as SingleFlight.IOCall)
+            })
+        }
+        while (singleFlight.inFlightCount == 0) {
+            Thread.sleep(10)
+        }
+        Thread.sleep(100)
+        release.countDown()
+        def failures = futures.collect {
+            try {
+                it.get(5, TimeUnit.SECONDS)
+                return null
+            } catch (ExecutionException e) {
+                return e.cause
+            }
+        }
+
+        then:
+        failures.every { it instanceof IOException }
+        calls.get() == 1
+
+        cleanup:
+        pool.shutdownNow()
+    }
+}
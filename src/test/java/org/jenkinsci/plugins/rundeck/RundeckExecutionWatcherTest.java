@@ -0,0 +1,170 @@
+package org.jenkinsci.plugins.rundeck;
+
+import org.jenkinsci.plugins.rundeck.polling.FixedPollingStrategy;
+import org.jenkinsci.plugins.rundeck.polling.PollingStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.rundeck.api.MockRundeckClientManager;
+import org.rundeck.client.api.model.Execution;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test the grouped polling of the {@link RundeckExecutionWatcher}
+ */
+public class RundeckExecutionWatcherTest {
+
+    @Rule public JenkinsRule j = new JenkinsRule();
+
+    private RundeckExecutionWatcher watcher;
+
+    private WatchedRundeckClientManager client;
+
+    private final List<String> finished = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        watcher = new RundeckExecutionWatcher();
+        client = new WatchedRundeckClientManager();
+    }
+
+    @After
+    public void tearDown() {
+        watcher.shutdown();
+    }
+
+    @Test
+    public void testRunningExecutionsOfTheSameProjectAreCheckedWithOneQuery() {
+        client.running.add("1");
+        watch("a", "1", new FixedPollingStrategy(60000L));
+        watch("b", "2", new FixedPollingStrategy(60000L));
+        watcher.shutdown();
+
+        watcher.poll();
+
+        assertEquals(1, client.runningQueries);
+        assertEquals(Collections.singletonList("2"), client.polledExecutions);
+        assertEquals(Collections.singletonList("2"), finished);
+        assertEquals(1, watcher.getWatchedCount());
+    }
+
+    @Test
+    public void testExecutionsAreFetchedOneByOneWhenRunningExecutionsCannotBeListed() {
+        client.running.add("1");
+        client.failRunningQuery = true;
+        watch("a", "1", new FixedPollingStrategy(60000L));
+        watch("b", "2", new FixedPollingStrategy(60000L));
+        watcher.shutdown();
+
+        watcher.poll();
+
+        List<String> polled = new ArrayList<>(client.polledExecutions);
+        Collections.sort(polled);
+        assertEquals(Arrays.asList("1", "2"), polled);
+        assertEquals(Collections.singletonList("2"), finished);
+        assertEquals(1, watcher.getWatchedCount());
+    }
+
+    @Test
+    public void testExecutionUnwatchedDuringAPollIsNotPolledAnymore() {
+        client.onRunningQuery = () -> watcher.unwatch("b");
+        watch("a", "1", new FixedPollingStrategy(60000L));
+        watch("b", "2", new FixedPollingStrategy(60000L));
+        watcher.shutdown();
+
+        watcher.poll();
+
+        assertEquals(Collections.singletonList("1"), client.polledExecutions);
+        assertEquals(Collections.singletonList("1"), finished);
+        assertEquals(0, watcher.getWatchedCount());
+    }
+
+    @Test
+    public void testOnlyTheDueExecutionsArePolled() {
+        client.running.add("1");
+        client.running.add("2");
+        watch("a", "1", new FixedPollingStrategy(0L));
+        watch("b", "2", new FixedPollingStrategy(3600000L));
+        watcher.shutdown();
+
+        watcher.poll();
+        assertEquals(1, client.runningQueries);
+        assertEquals(Collections.emptyList(), client.polledExecutions);
+
+        // "b" keeps its own delay: only "a" is due, alone, and fetched directly
+        watcher.poll();
+        assertEquals(1, client.runningQueries);
+        assertEquals(Collections.singletonList("1"), client.polledExecutions);
+        assertEquals(Collections.emptyList(), finished);
+    }
+
+    private void watch(String watchId, String executionId, PollingStrategy pollingStrategy) {
+        watcher.watch(watchId, client, "test", executionId, pollingStrategy, new RundeckExecutionWatcher.Callback() {
+            @Override
+            public void onFinished(Execution execution) {
+                finished.add(execution.getId());
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+                finished.add("error " + watchId);
+            }
+        });
+    }
+
+    private static Execution createExecution(String id, String status) {
+        Execution execution = new Execution();
+        execution.setId(id);
+        execution.setStatus(status);
+        execution.setProject("test");
+        return execution;
+    }
+
+    /**
+     * Client whose executions are running as long as their id is in {@link #running}, recording the requests.
+     */
+    private static class WatchedRundeckClientManager extends MockRundeckClientManager {
+
+        private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+        private final List<String> polledExecutions = new CopyOnWriteArrayList<>();
+
+        private volatile int runningQueries;
+
+        private volatile boolean failRunningQuery;
+
+        private volatile Runnable onRunningQuery = () -> {};
+
+        @Override
+        public Execution getExecution(String id) {
+            polledExecutions.add(id);
+            return createExecution(id, running.contains(id) ? "running" : "succeeded");
+        }
+
+        @Override
+        public List<Execution> getRunningExecutions(String project) throws IOException {
+            runningQueries++;
+            onRunningQuery.run();
+            if (failRunningQuery) {
+                throw new IOException("Rundeck is down");
+            }
+            List<Execution> executions = new ArrayList<>();
+            for (String id : running) {
+                executions.add(createExecution(id, "running"));
+            }
+            return executions;
+        }
+    }
+}
@@ -348,6 +348,45 @@ public class RundeckNotifierTest extends HudsonTestCase {
     }
 
 
+    public void testAdditionalJobsAreLaunchedTogether() throws Exception {
+
+        RundeckManager client = new MockRundeckClientManager();
+        RundeckInstanceBuilder instanceBuilder = new RundeckInstanceBuilder();
+        instanceBuilder.setClient(client);
+        instanceBuilder.name("Default");
+
+        RundeckNotifier notifier = new RundeckNotifier("Default", "1", createOptions(), null, "", false, false, null, null, null);
+        notifier.setAdditionalJobs(Arrays.asList(new RundeckJobLaunch("2", "region=eu", null), new RundeckJobLaunch("3", "region=us", null)));
+        notifier.getDescriptor().setRundeckBuilder(instanceBuilder);
+        notifier.getDescriptor().addRundeckInstance(instanceBuilder.build());
+
+        FreeStyleProject project = createFreeStyleProject();
+        project.getBuildersList().add(new MockBuilder(Result.SUCCESS));
+        project.getPublishersList().add(notifier);
+        project.setScm(createScm());
+
+        FreeStyleBuild build = assertBuildStatusSuccess(project.scheduleBuild2(0).get());
+        assertTrue(buildContainsAction(build, RundeckExecutionBuildBadgeAction.class));
+        String s = FileUtils.readFileToString(build.getLogFile());
+        assertTrue(s.contains("Launching 3 Rundeck jobs in parallel..."));
+        assertTrue(s.contains("Looking for jobId : 2"));
+        assertTrue(s.contains("Looking for jobId : 3"));
+        assertTrue(s.contains("Rundeck jobs summary :"));
+        assertTrue(s.contains("  3 : execution #1"));
+    }
+
+    public void testGetRundeckInstanceForUrl() {
+        RundeckNotifier.RundeckDescriptor descriptor = jenkins.getDescriptorByType(RundeckNotifier.RundeckDescriptor.class);
+        RundeckInstance root = new RundeckInstance("Root", "http://rundeck:4440/");
+        RundeckInstance contextPath = new RundeckInstance("ContextPath", "http://Rundeck:4440/rundeck");
+        descriptor.setRundeckInstances(new RundeckInstance[]{root, contextPath});
+
+        assertSame(root, descriptor.getRundeckInstanceForUrl("http://rundeck:4440/execution/follow/1"));
+        assertSame(contextPath, descriptor.getRundeckInstanceForUrl("http://rundeck:4440/rundeck/execution/follow/1"));
+        assertNull(descriptor.getRundeckInstanceForUrl("http://other:4440/execution/follow/1"));
+        assertNull(descriptor.getRundeckInstanceForUrl(null));
+    }
+
     public void testGetTags(){
 
         RundeckNotifier notifier;
@@ -0,0 +1,99 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.model.UnprotectedRootAction;
+import hudson.util.Secret;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsSessionRule;
+import org.jvnet.hudson.test.TestExtension;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test that a {@link RundeckStep} waiting for its execution survives a restart of Jenkins
+ */
+public class RundeckStepRestartTest {
+
+    @Rule public JenkinsSessionRule sessions = new JenkinsSessionRule();
+
+    @Test
+    public void testStepKeepsWaitingAfterRestart() throws Throwable {
+        sessions.then(j -> {
+            // the execution is started through the mock client, then polled through the HTTP API after the restart
+            RundeckApiMock.status = "running";
+            RundeckStepTest.ControllableRundeckClientManager client = new RundeckStepTest.ControllableRundeckClientManager();
+            RundeckInstanceBuilder instanceBuilder = new RundeckInstanceBuilder();
+            instanceBuilder.setClient(client);
+            instanceBuilder.name("Default");
+            instanceBuilder.url(j.getURL() + RundeckApiMock.URL_NAME);
+            instanceBuilder.token(Secret.fromString("token"));
+
+            RundeckNotifier.RundeckDescriptor descriptor = j.jenkins.getDescriptorByType(RundeckNotifier.RundeckDescriptor.class);
+            descriptor.setRundeckBuilder(instanceBuilder);
+            descriptor.addRundeckInstance(instanceBuilder.build());
+            descriptor.save();
+
+            WorkflowJob p = j.createProject(WorkflowJob.class, "p");
+            p.setDefinition(new CpsFlowDefinition("rundeck rundeckInstance: 'Default', jobId: '1'", true));
+            WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+            j.waitForMessage("Waiting for Rundeck execution to finish...", b);
+        });
+        sessions.then(j -> {
+            WorkflowRun b = j.jenkins.getItemByFullName("p", WorkflowJob.class).getBuildByNumber(1);
+            assertTrue(b.isBuilding());
+
+            RundeckApiMock.status = "succeeded";
+            j.assertBuildStatusSuccess(j.waitForCompletion(b));
+            j.assertLogContains("Rundeck execution #1 finished", b);
+        });
+    }
+
+    /**
+     * Minimal Rundeck API serving the state of the executions.
+     */
+    @TestExtension("testStepKeepsWaitingAfterRestart")
+    public static class RundeckApiMock implements UnprotectedRootAction {
+
+        static final String URL_NAME = "rundeck-api-mock";
+
+        private static final Pattern EXECUTION_PATH = Pattern.compile("/api/\\d+/execution/(\\d+)");
+
+        static volatile String status = "running";
+
+        @Override
+        public String getIconFileName() {
+            return null;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return null;
+        }
+
+        @Override
+        public String getUrlName() {
+            return URL_NAME;
+        }
+
+        public void doDynamic(StaplerRequest req, StaplerResponse rsp) throws IOException {
+            Matcher matcher = EXECUTION_PATH.matcher(req.getRestOfPath());
+            if (!matcher.matches()) {
+                rsp.sendError(404);
+                return;
+            }
+            rsp.setContentType("application/json");
+            rsp.getWriter().printf("{\"id\":\"%s\",\"href\":\"http://localhost:4440/execution/follow/%1$s\","
+                    + "\"permalink\":\"http://localhost:4440/execution/follow/%1$s\",\"status\":\"%s\",\"project\":\"test\"}",
+                    matcher.group(1), status);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.jenkinsci.plugins.rundeck;
+
+import hudson.model.Result;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.rundeck.api.MockRundeckClientManager;
+import org.rundeck.client.api.model.AbortResult;
+import org.rundeck.client.api.model.Execution;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the {@link RundeckStep}
+ */
+public class RundeckStepTest {
+
+    @Rule public JenkinsRule j = new JenkinsRule();
+
+    private ControllableRundeckClientManager client;
+
+    @Before
+    public void setUp() {
+        client = new ControllableRundeckClientManager();
+        RundeckInstanceBuilder instanceBuilder = new RundeckInstanceBuilder();
+        instanceBuilder.setClient(client);
+        instanceBuilder.name("Default");
+
+        RundeckNotifier.RundeckDescriptor descriptor = j.jenkins.getDescriptorByType(RundeckNotifier.RundeckDescriptor.class);
+        descriptor.setRundeckBuilder(instanceBuilder);
+        descriptor.addRundeckInstance(instanceBuilder.build());
+    }
+
+    @Test
+    public void testStepCompletesWhenTheExecutionSucceeds() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class, "p");
+        p.setDefinition(new CpsFlowDefinition("rundeck rundeckInstance: 'Default', jobId: '1'", true));
+
+        WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+        j.waitForMessage("Waiting for Rundeck execution to finish...", b);
+        assertTrue(b.isBuilding());
+
+        client.status = "succeeded";
+        j.assertBuildStatusSuccess(j.waitForCompletion(b));
+        j.assertLogContains("Notification succeeded ! Execution #1", b);
+        j.assertLogContains("Rundeck execution #1 finished", b);
+    }
+
+    @Test
+    public void testFailedExecutionFailsTheBuild() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class, "p");
+        p.setDefinition(new CpsFlowDefinition("rundeck rundeckInstance: 'Default', jobId: '1'", true));
+
+        WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+        j.waitForMessage("Waiting for Rundeck execution to finish...", b);
+
+        client.status = "failed";
+        j.assertBuildStatus(Result.FAILURE, j.waitForCompletion(b));
+        j.assertLogContains("Rundeck execution #1 finished with status : failed", b);
+    }
+
+    @Test
+    public void testFailedExecutionDoesNotFailTheBuildIfNotWanted() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class, "p");
+        p.setDefinition(new CpsFlowDefinition("rundeck rundeckInstance: 'Default', jobId: '1', shouldFailTheBuild: false", true));
+
+        WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+        j.waitForMessage("Waiting for Rundeck execution to finish...", b);
+
+        client.status = "failed";
+        j.assertBuildStatusSuccess(j.waitForCompletion(b));
+    }
+
+    @Test
+    public void testAbortingTheBuildAbortsTheExecution() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class, "p");
+        p.setDefinition(new CpsFlowDefinition("rundeck rundeckInstance: 'Default', jobId: '1'", true));
+
+        WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+        j.waitForMessage("Waiting for Rundeck execution to finish...", b);
+
+        b.doStop();
+        j.assertBuildStatus(Result.ABORTED, j.waitForCompletion(b));
+        // the execution is aborted in the background
+        while (!client.aborted) {
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    public void testExecutionWhichCannotBeStartedFailsTheBuild() throws Exception {
+        client.runError = new IOException("Fake error for testing");
+        WorkflowJob p = j.createProject(WorkflowJob.class, "p");
+        p.setDefinition(new CpsFlowDefinition("rundeck rundeckInstance: 'Default', jobId: '1'", true));
+
+        WorkflowRun b = j.assertBuildStatus(Result.FAILURE, p.scheduleBuild2(0));
+        j.assertLogContains("Fake error for testing", b);
+    }
+
+    /**
+     * Reports the execution with the status set by the test, running by default.
+     */
+    static class ControllableRundeckClientManager extends MockRundeckClientManager {
+
+        volatile String status = "running";
+
+        volatile boolean aborted;
+
+        volatile IOException runError;
+
+        @Override
+        public Execution runExecution(String jobId, Properties options, Properties nodeFilters) throws IOException {
+            if (runError != null) {
+                throw runError;
+            }
+            Execution execution = super.runExecution(jobId, options, nodeFilters);
+            execution.setStatus("running");
+            return execution;
+        }
+
+        @Override
+        public Execution getExecution(String id) throws IOException {
+            Execution execution = super.getExecution(id);
+            execution.setStatus(status);
+            return execution;
+        }
+
+        @Override
+        public AbortResult abortExecution(String id) throws IOException {
+            aborted = true;
+            status = "aborted";
+            AbortResult result = new AbortResult();
+            result.abort = new AbortResult.Reason();
+            result.abort.status = "aborted";
+            return result;
+        }
+    }
+}
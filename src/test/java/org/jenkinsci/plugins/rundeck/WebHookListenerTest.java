@@ -89,6 +89,70 @@ public class WebHookListenerTest {
                 }.getMockInstance()
         );
     }
+
+    @Test
+    public void testQueuedNotificationIsAccepted() {
+
+        jenkins.jenkins.getDescriptorByType(RundeckNotifier.RundeckDescriptor.class).setWebhookQueueSize(10);
+        WebHookListener listener = new WebHookListener();
+        final String payload = "{id: '123', status: 'succeeded', project: 'Jenkins', href: 'http://rundeck/execution/123', job: {id: '6fa68fe1-6894-477c-a997-ba1004b4ae83', name: 'Demo', group: 'Test', project: 'Jenkins'} }";
+
+        InputStream data = new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+        final ServletInputStream servletInputStream=new DelegatingServletInputStream(data);
+
+        listener.doIndex(
+                new MockUp<StaplerRequest>() {
+                    @Mock
+                    public ServletInputStream getInputStream(){
+                        return servletInputStream;
+                    }
+                }.getMockInstance(),
+                new MockUp<StaplerResponse>() {
+                    @Mock
+                    public void setStatus(int num){
+                        assertEquals(num, 202);
+                    }
+
+                    @Mock
+                    public PrintWriter getWriter(){
+                        return new PrintWriter(System.out);
+                    }
+
+                }.getMockInstance()
+        );
+    }
+
+    @Test
+    public void testQueuedNotificationWithoutJobIsRejected() {
+
+        jenkins.jenkins.getDescriptorByType(RundeckNotifier.RundeckDescriptor.class).setWebhookQueueSize(10);
+        WebHookListener listener = new WebHookListener();
+        final String payload = "{executionId: 123, status: 'success', project: 'Jenkins' }";
+
+        InputStream data = new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+        final ServletInputStream servletInputStream=new DelegatingServletInputStream(data);
+
+        listener.doIndex(
+                new MockUp<StaplerRequest>() {
+                    @Mock
+                    public ServletInputStream getInputStream(){
+                        return servletInputStream;
+                    }
+                }.getMockInstance(),
+                new MockUp<StaplerResponse>() {
+                    @Mock
+                    public void setStatus(int num){
+                        assertEquals(num, 400);
+                    }
+
+                    @Mock
+                    public PrintWriter getWriter(){
+                        return new PrintWriter(System.out);
+                    }
+
+                }.getMockInstance()
+        );
+    }
 }
 
 class DelegatingServletInputStream extends ServletInputStream {
@@ -0,0 +1,76 @@
+package org.jenkinsci.plugins.rundeck.benchmark;
+
+import org.jenkinsci.plugins.rundeck.ExecLogFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.rundeck.client.api.model.ExecLog;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the string concatenation previously used to print Rundeck log lines with {@link ExecLogFormatter}.
+ * <p>
+ * Only compiled with the {@code benchmark} profile, which adds JMH to the test classpath. Run with
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.jenkinsci.plugins.rundeck.benchmark.ExecLogFormatterBenchmark}.
+ * Add {@code -prof gc} to the JMH options to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecLogFormatterBenchmark {
+
+    private ExecLog entry;
+
+    private PrintStream printStream;
+
+    private ExecLogFormatter formatter;
+
+    @Setup
+    public void setUp() {
+        entry = new ExecLog("TASK [deploy : copy application archive] ****************************************");
+        entry.node = "node-01.example.com";
+        entry.time = "12:34:56";
+        entry.level = "NORMAL";
+        printStream = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }, false);
+        formatter = new ExecLogFormatter(printStream, ExecLogFormatter.DEFAULT_FORMAT, Charset.defaultCharset());
+    }
+
+    @Benchmark
+    public void concatenation() {
+        printStream.println("[" + entry.node + "] " + "[" + entry.time + "] [" + entry.level + "] " + entry.log);
+    }
+
+    @Benchmark
+    public int formatter() {
+        return formatter.print(entry);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExecLogFormatterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
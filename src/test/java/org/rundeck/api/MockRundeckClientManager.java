@@ -7,7 +7,9 @@ import org.jenkinsci.plugins.rundeck.client.RundeckManager;
 import org.rundeck.client.api.model.*;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Properties;
 
 public class MockRundeckClientManager implements RundeckManager {
@@ -52,6 +54,11 @@ public class MockRundeckClientManager implements RundeckManager {
         return execution;
     }
 
+    @Override
+    public List<Execution> getRunningExecutions(String project) throws IOException {
+        return Collections.emptyList();
+    }
+
     @Override
     public String findJobId(String project, String name, String groupPath) throws IOException {
         return "job-1234";
@@ -67,6 +74,11 @@ public class MockRundeckClientManager implements RundeckManager {
         return null;
     }
 
+    @Override
+    public List<JobItem> listJobs(String project) throws IOException {
+        return Collections.emptyList();
+    }
+
     @Override
     public Execution runExecution(String jobId, Properties options, Properties nodeFilters) throws IOException {
         Execution execution = new Execution();